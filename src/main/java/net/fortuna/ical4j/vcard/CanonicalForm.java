@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.util.Strings;
+import net.fortuna.ical4j.vcard.parameter.Type;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the canonical form of vCard objects, such that vCards differing only in the order
+ * of their properties or parameters, the case of names or case-insensitive values, or the
+ * escaping of values, are written identically. The canonical form is intended for
+ * comparison and hashing, such as for the generation of entity tags, and is as follows:
+ *
+ * <ul>
+ * <li>The VERSION property is written first, with all other properties following in order
+ * of their canonical content lines. Properties are ordered by their group, name and
+ * parameters, and only where these are identical by their values.</li>
+ * <li>Property, group and parameter names are written in upper case.</li>
+ * <li>All TYPE parameters of a property are combined into a single parameter, the values of
+ * which are written in lower case, sorted and without duplicates. The values of other
+ * case-insensitive parameters are also written in lower case.</li>
+ * <li>Parameters are written in order of their canonical form.</li>
+ * <li>Property values are always written as escaped from their parsed form, and never as
+ * originally read.</li>
+ * <li>Properties are never downgraded for earlier versions.</li>
+ * </ul>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class CanonicalForm {
+
+    private static final Set<Parameter.Id> CASE_INSENSITIVE_PARAMETERS = EnumSet.of(Parameter.Id.TYPE,
+            Parameter.Id.VALUE, Parameter.Id.ENCODING, Parameter.Id.CALSCALE, Parameter.Id.LANGUAGE);
+
+    /**
+     * Constructor made private to enforce static nature.
+     */
+    private CanonicalForm() {
+    }
+
+    /**
+     * Writes the canonical form of the specified vCard. Properties are sorted by the
+     * canonical form of their group, name and parameters, with each value then written
+     * directly to the output. Values are only built as strings where they must be compared,
+     * being those of properties whose group, name and parameters are identical. Lazily
+     * parsed properties are resolved for writing only, and the vCard itself is not modified.
+     * @param card a vCard object
+     * @param out the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    static void write(final VCard card, final Appendable out) throws IOException {
+        final List<Line> versions = new ArrayList<Line>(1);
+        final List<Line> lines = new ArrayList<Line>();
+        for (Property property : card.getUnresolvedProperties()) {
+            if (property instanceof LazyProperty) {
+                property = ((LazyProperty) property).resolve();
+            }
+            if (Property.Id.VERSION.equals(property.getId())) {
+                versions.add(new Line(property));
+            }
+            else {
+                lines.add(new Line(property));
+            }
+        }
+        Collections.sort(versions);
+        Collections.sort(lines);
+
+        out.append("BEGIN:VCARD");
+        out.append(Strings.LINE_SEPARATOR);
+        for (Line line : versions) {
+            line.write(out);
+        }
+        for (Line line : lines) {
+            line.write(out);
+        }
+        out.append("END:VCARD");
+        out.append(Strings.LINE_SEPARATOR);
+    }
+
+    /**
+     * @param property a property
+     * @return the canonical group, name and parameters of the property, including the
+     * separator preceding the value
+     */
+    private static String header(final Property property) {
+        final StringBuilder b = new StringBuilder();
+        if (property.getGroup() != null) {
+            b.append(property.getGroup().toString().toUpperCase(Locale.ROOT));
+            b.append('.');
+        }
+        if (Property.Id.EXTENDED.equals(property.getId())) {
+            b.append(property.getExtendedName().toUpperCase(Locale.ROOT));
+        }
+        else {
+            b.append(property.getId().getPropertyName().toUpperCase(Locale.ROOT));
+        }
+
+        final List<String> parameters = new ArrayList<String>();
+        final Set<String> types = new TreeSet<String>();
+        for (Parameter parameter : property.getParameters()) {
+            if (Parameter.Id.TYPE.equals(parameter.getId())) {
+                addTypes(parameter, types);
+            }
+            else {
+                parameters.add(toString(parameter));
+            }
+        }
+        if (!types.isEmpty()) {
+            final StringBuilder type = new StringBuilder(Parameter.Id.TYPE.getPname());
+            char separator = '=';
+            for (String value : types) {
+                type.append(separator);
+                type.append(value);
+                separator = ',';
+            }
+            parameters.add(type.toString());
+        }
+        Collections.sort(parameters);
+        for (String parameter : parameters) {
+            b.append(';');
+            b.append(parameter);
+        }
+
+        b.append(':');
+        return b.toString();
+    }
+
+    /**
+     * @param parameter a parameter other than TYPE
+     * @return the canonical form of the parameter
+     */
+    private static String toString(final Parameter parameter) {
+        final StringBuilder b = new StringBuilder();
+        if (Parameter.Id.EXTENDED.equals(parameter.getId())) {
+            b.append(parameter.extendedName.toUpperCase(Locale.ROOT));
+        }
+        else {
+            b.append(parameter.getId().getPname().toUpperCase(Locale.ROOT));
+        }
+        final String value = parameter.getValue();
+        if (value != null) {
+            b.append('=');
+            if (CASE_INSENSITIVE_PARAMETERS.contains(parameter.getId())) {
+                b.append(value.toLowerCase(Locale.ROOT));
+            }
+            else {
+                b.append(value);
+            }
+        }
+        return b.toString();
+    }
+
+    private static void addTypes(final Parameter parameter, final Set<String> types) {
+        final List<String> values;
+        if (parameter instanceof Type) {
+            values = Arrays.asList(((Type) parameter).getTypes());
+        }
+        else if (parameter.getValue() != null) {
+            values = Arrays.asList(parameter.getValue().split(","));
+        }
+        else {
+            values = Collections.emptyList();
+        }
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                types.add(value.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    /**
+     * A property to be written in canonical form, ordered by its header and then its value.
+     */
+    private static final class Line implements Comparable<Line> {
+
+        private final Property property;
+
+        private final String header;
+
+        /**
+         * The escaped value, built only where required for comparison.
+         */
+        private String value;
+
+        Line(final Property property) {
+            this.property = property;
+            this.header = header(property);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(final Line other) {
+            final int result = header.compareTo(other.header);
+            if (result != 0) {
+                return result;
+            }
+            return getValue().compareTo(other.getValue());
+        }
+
+        private String getValue() {
+            if (value == null) {
+                final StringBuilder b = new StringBuilder();
+                try {
+                    property.writeValue(b);
+                }
+                catch (IOException e) {
+                    // not thrown by StringBuilder..
+                    throw new IllegalStateException(e);
+                }
+                value = b.toString();
+            }
+            return value;
+        }
+
+        void write(final Appendable out) throws IOException {
+            out.append(header);
+            if (value != null) {
+                out.append(value);
+            }
+            else {
+                property.writeValue(out);
+            }
+            out.append(Strings.LINE_SEPARATOR);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A source of unfolded vCard content lines.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+abstract class ContentLineReader implements Closeable {
+
+    /**
+     * Reads the next unfolded content line. The returned sequence is only valid until the
+     * next invocation of this method, as implementations may reuse the underlying buffer.
+     * @return the next content line, excluding line terminators, or null if the end of
+     * the input has been reached
+     * @throws IOException where a problem occurs reading the input
+     */
+    abstract CharSequence readLine() throws IOException;
+
+    /**
+     * @return the byte offset of the start of the line most recently returned by
+     * {@link #readLine()}, or -1 if byte offsets are not available for the input
+     */
+    long getLineOffset() {
+        return -1;
+    }
+
+    /**
+     * @return the byte offset immediately following the data consumed so far, or -1 if byte
+     * offsets are not available for the input
+     */
+    long getOffset() {
+        return -1;
+    }
+}
@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.util.Arrays;
+
+/**
+ * Splits an unfolded vCard content line into its group, name, parameter and value
+ * components in a single pass, without the use of regular expressions.
+ *
+ * <pre>
+ * contentline = [group "."] name *(";" param) ":" value
+ * </pre>
+ *
+ * Property names are recognised as a sequence of letters, or as an extended name
+ * (<code>X-</code> followed by letters and dashes), optionally preceded by a group of
+ * letters, digits and dashes. Parameter values may be quoted, in which case any
+ * <code>;</code>, <code>:</code> or <code>=</code> characters they contain are not
+ * treated as delimiters. Quotes are retained in the parameter value.
+ *
+ * <p>Components are recorded as offsets into the current line and only converted to
+ * strings on request. Instances are reusable but not thread-safe.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class ContentLineTokenizer {
+
+    private static final int NO_VALUE = -1;
+
+    private CharSequence line;
+
+    private int groupEnd;
+
+    private int nameStart;
+
+    private int nameEnd;
+
+    private int valueStart;
+
+    private int parameterCount;
+
+    /**
+     * Offsets of each parameter as (name start, name end, value start, value end).
+     */
+    private int[] parameterOffsets = new int[16];
+
+    /**
+     * @param line an unfolded content line
+     * @return true if the line is a property with a recognised name and a value,
+     * otherwise false
+     */
+    boolean tokenize(final CharSequence line) {
+        return tokenizeName(line) && tokenizeParameters();
+    }
+
+    /**
+     * Tokenizes only the group and name of a content line, so that it may be inspected
+     * before the remainder of the line is scanned with {@link #tokenizeParameters()}.
+     * @param line an unfolded content line
+     * @return true if the line starts with a recognised property name, otherwise false
+     */
+    boolean tokenizeName(final CharSequence line) {
+        this.line = line;
+        parameterCount = 0;
+        valueStart = NO_VALUE;
+        return scanGroupAndName();
+    }
+
+    /**
+     * Completes tokenizing of a line following a successful call to
+     * {@link #tokenizeName(CharSequence)}.
+     * @return true if the line has a value, otherwise false
+     */
+    boolean tokenizeParameters() {
+        if (line.charAt(nameEnd) == ':') {
+            valueStart = nameEnd + 1;
+            return true;
+        }
+        int paramsEnd = indexOfDelimiter(nameEnd + 1, true);
+        if (paramsEnd < 0) {
+            // unbalanced quotes - treat them as literal characters..
+            paramsEnd = indexOfDelimiter(nameEnd + 1, false);
+            if (paramsEnd < 0) {
+                return false;
+            }
+            tokenizeParameters(nameEnd + 1, paramsEnd, false);
+        }
+        else {
+            tokenizeParameters(nameEnd + 1, paramsEnd, true);
+        }
+        valueStart = paramsEnd + 1;
+        return true;
+    }
+
+    /**
+     * @param name an upper-case property name
+     * @return true if the property name of the current line is equal to the specified
+     * name, ignoring case
+     */
+    boolean isName(final String name) {
+        if (nameEnd - nameStart != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = line.charAt(nameStart + i);
+            if (c != name.charAt(i) && (c < 'a' || c > 'z' || c - ('a' - 'A') != name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the current line has a property group
+     */
+    boolean hasGroup() {
+        return groupEnd > 0;
+    }
+
+    /**
+     * @return the property group of the current line, or null if no group is specified
+     */
+    String getGroup() {
+        if (!hasGroup()) {
+            return null;
+        }
+        return slice(0, groupEnd);
+    }
+
+    /**
+     * @return the property name of the current line, as it appears in the line
+     */
+    String getName() {
+        return slice(nameStart, nameEnd);
+    }
+
+    /**
+     * @return the raw (escaped) property value of the current line
+     */
+    String getValue() {
+        return slice(valueStart, line.length());
+    }
+
+    /**
+     * @return the number of parameters in the current line
+     */
+    int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @param index a parameter index
+     * @return the parameter name, as it appears in the line
+     */
+    String getParameterName(final int index) {
+        return slice(parameterOffsets[index * 4], parameterOffsets[index * 4 + 1]);
+    }
+
+    /**
+     * @param index a parameter index
+     * @return the raw parameter value, or null if the parameter has no value
+     */
+    String getParameterValue(final int index) {
+        final int start = parameterOffsets[index * 4 + 2];
+        if (start == NO_VALUE) {
+            return null;
+        }
+        return slice(start, parameterOffsets[index * 4 + 3]);
+    }
+
+    /**
+     * @param start start offset (inclusive) in the current line
+     * @param end end offset (exclusive) in the current line
+     * @return the specified region of the current line as a string
+     */
+    String slice(final int start, final int end) {
+        return line.subSequence(start, end).toString();
+    }
+
+    private boolean scanGroupAndName() {
+        final int length = line.length();
+        int i = 0;
+        while (i < length && isGroupChar(line.charAt(i))) {
+            i++;
+        }
+        if (i > 0 && i < length && line.charAt(i) == '.') {
+            groupEnd = i;
+            nameStart = i + 1;
+        }
+        else {
+            groupEnd = 0;
+            nameStart = 0;
+        }
+        nameEnd = scanName(nameStart);
+        return nameEnd > nameStart && nameEnd < length
+                && (line.charAt(nameEnd) == ';' || line.charAt(nameEnd) == ':');
+    }
+
+    /**
+     * @param start offset of the first character of the property name
+     * @return the offset immediately following the property name
+     */
+    private int scanName(final int start) {
+        final int length = line.length();
+        if (start + 2 < length && (line.charAt(start) == 'X' || line.charAt(start) == 'x')
+                && line.charAt(start + 1) == '-') {
+            int i = start + 2;
+            while (i < length && (isAlpha(line.charAt(i)) || line.charAt(i) == '-')) {
+                i++;
+            }
+            return i > start + 2 ? i : start;
+        }
+        int i = start;
+        while (i < length && isAlpha(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @param start offset to start searching from
+     * @param quoting whether to ignore delimiters within quotes
+     * @return the offset of the first unquoted ':', or -1 if none is found
+     */
+    private int indexOfDelimiter(final int start, final boolean quoting) {
+        boolean quoted = false;
+        for (int i = start; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoting && c == '"') {
+                quoted = !quoted;
+            }
+            else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void tokenizeParameters(final int start, final int end, final boolean quoting) {
+        boolean quoted = false;
+        int paramStart = start;
+        int equals = -1;
+        int valueEnd = -1;
+        for (int i = start; i <= end; i++) {
+            final char c = i < end ? line.charAt(i) : ';';
+            if (quoting && c == '"') {
+                quoted = !quoted;
+            }
+            else if (quoted) {
+                continue;
+            }
+            else if (c == '=') {
+                if (equals < 0) {
+                    equals = i;
+                }
+                else if (valueEnd < 0) {
+                    valueEnd = i;
+                }
+            }
+            else if (c == ';') {
+                if (i > paramStart) {
+                    addParameter(paramStart, i, equals, valueEnd);
+                }
+                paramStart = i + 1;
+                equals = -1;
+                valueEnd = -1;
+            }
+        }
+    }
+
+    /**
+     * Records a parameter. Where a parameter contains multiple '=' characters only the
+     * text between the first and second is used as the value, and a parameter with no
+     * value following the '=' is treated as having no value at all.
+     */
+    private void addParameter(final int start, final int end, final int equals, final int valueEnd) {
+        if (parameterOffsets.length < (parameterCount + 1) * 4) {
+            parameterOffsets = Arrays.copyOf(parameterOffsets, parameterOffsets.length * 2);
+        }
+        final int offset = parameterCount * 4;
+        if (equals < 0) {
+            parameterOffsets[offset] = start;
+            parameterOffsets[offset + 1] = end;
+            parameterOffsets[offset + 2] = NO_VALUE;
+        }
+        else {
+            parameterOffsets[offset] = start;
+            parameterOffsets[offset + 1] = equals;
+            parameterOffsets[offset + 2] = hasValue(equals + 1, end) ? equals + 1 : NO_VALUE;
+            parameterOffsets[offset + 3] = valueEnd < 0 ? end : valueEnd;
+        }
+        parameterCount++;
+    }
+
+    private boolean hasValue(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) != '=') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlpha(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isGroupChar(final char c) {
+        return isAlpha(c) || (c >= '0' && c <= '9') || c == '-';
+    }
+}
@@ -31,10 +31,8 @@
  */
 package net.fortuna.ical4j.vcard;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * A property group.
@@ -88,6 +86,11 @@ public class Group implements Serializable {
     
     private String extendedName = "";
 
+    /**
+     * The hash code of the group, or zero if not yet computed.
+     */
+    private transient int hash;
+
     /**
      * @param extendedName a non-standard group name
      */
@@ -108,7 +111,14 @@ public class Group implements Serializable {
      */
     @Override
     public boolean equals(final Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        final Group other = (Group) obj;
+        return id == other.id && Objects.equals(extendedName, other.extendedName);
     }
 
     /**
@@ -116,7 +126,12 @@ public class Group implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int result = hash;
+        if (result == 0) {
+            result = 31 * Objects.hashCode(id) + Objects.hashCode(extendedName);
+            hash = result;
+        }
+        return result;
     }
     
     /**
@@ -124,14 +139,10 @@ public class Group implements Serializable {
      */
     @Override
     public final String toString() {
-        final StringBuilder b = new StringBuilder();
         if (Id.EXTENDED.equals(id)) {
-//            b.append("X-");
-            b.append(extendedName);
-        }
-        else {
-            b.append(id);
+//            return "X-" + extendedName;
+            return String.valueOf(extendedName);
         }
-        return b.toString();
+        return id.toString();
     }
 }
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.util.CompatibilityHints;
+
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * A non-blocking vCard object builder, to which UTF-8 encoded data is pushed in chunks of
+ * any size as it becomes available. Partially received content lines, including any
+ * pending fold, are retained between chunks, so that cards may be parsed as data arrives
+ * on an event loop without buffering the complete input or blocking a thread.
+ *
+ * <pre>
+ * IncrementalVCardBuilder builder = new IncrementalVCardBuilder();
+ * builder.feed(chunk);
+ * for (VCard card = builder.poll(); card != null; card = builder.poll()) {
+ *     ...
+ * }
+ * ...
+ * builder.finish();
+ * </pre>
+ *
+ * <p>Cards are delimited, unfolded and validated as for {@link VCardBuilder#buildAll()}.
+ * Line numbers reported by a {@link ParserException} are counted from the start of the
+ * input, and the builder should be discarded following such an exception. Instances are
+ * not thread-safe.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public final class IncrementalVCardBuilder {
+
+    private static final int IN_LINE = 0;
+
+    /**
+     * A CR has been read, which ends the line unless followed by LF.
+     */
+    private static final int AFTER_CR = 1;
+
+    /**
+     * A CRLF has been read, which is a fold if followed by whitespace.
+     */
+    private static final int AFTER_CRLF = 2;
+
+    /**
+     * A bare LF has been read, which is a fold if followed by whitespace under relaxed
+     * unfolding.
+     */
+    private static final int AFTER_LF = 3;
+
+    private final GroupRegistry groupRegistry;
+
+    private final PropertyFactoryRegistry propertyFactoryRegistry;
+
+    private final ParameterFactoryRegistry parameterFactoryRegistry;
+
+    private final boolean relaxedParsing;
+
+    private final boolean relaxedUnfolding;
+
+    private final ContentLineTokenizer tokenizer = new ContentLineTokenizer();
+
+    private final Queue<VCard> cards = new ArrayDeque<VCard>();
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    private final Utf8CharSequence current = new Utf8CharSequence(line, 0, 0);
+
+    private int state = IN_LINE;
+
+    private int lineNo;
+
+    private List<Property> properties;
+
+    /**
+     * Default constructor.
+     */
+    public IncrementalVCardBuilder() {
+        this(new GroupRegistry(), new PropertyFactoryRegistry(), new ParameterFactoryRegistry());
+    }
+
+    /**
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     */
+    public IncrementalVCardBuilder(final GroupRegistry registry,
+            final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        this.groupRegistry = registry;
+        this.propertyFactoryRegistry = propertyFactoryRegistry;
+        this.parameterFactoryRegistry = parameterFactoryRegistry;
+        this.relaxedParsing = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING);
+        this.relaxedUnfolding = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING);
+    }
+
+    /**
+     * Consumes all remaining data in the specified buffer, building any cards it completes.
+     * @param chunk a buffer providing the next UTF-8 encoded vCard data between its position
+     * and limit
+     * @throws ParserException where parsing vCard data fails
+     */
+    public void feed(final ByteBuffer chunk) throws ParserException {
+        while (chunk.hasRemaining()) {
+            final byte b = chunk.get();
+            if (state == AFTER_CR) {
+                if (b == '\n') {
+                    state = AFTER_CRLF;
+                    continue;
+                }
+                endLine();
+            }
+            else if (state == AFTER_CRLF || state == AFTER_LF) {
+                if ((b == ' ' || b == '\t') && (state == AFTER_CRLF || relaxedUnfolding)) {
+                    // fold - continue the current line..
+                    state = IN_LINE;
+                    continue;
+                }
+                endLine();
+            }
+
+            if (b == '\r') {
+                state = AFTER_CR;
+            }
+            else if (b == '\n') {
+                state = AFTER_LF;
+            }
+            else {
+                append(b);
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the input, building any final card. As with
+     * {@link VCardBuilder#buildAll()} a final card need not be terminated.
+     * @throws ParserException where parsing vCard data fails
+     */
+    public void finish() throws ParserException {
+        if (state != IN_LINE || lineLength > 0) {
+            endLine();
+        }
+        if (properties != null) {
+            cards.add(new VCard(properties));
+            properties = null;
+        }
+    }
+
+    /**
+     * @return the next completed vCard object, or null if no complete cards are available
+     */
+    public VCard poll() {
+        return cards.poll();
+    }
+
+    private void append(final byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    private void endLine() throws ParserException {
+        current.reset(line, 0, lineLength);
+        lineLength = 0;
+        state = IN_LINE;
+        lineNo++;
+
+        if (VCardBuilder.isBlank(current)) {
+            return;
+        }
+        if (properties == null) {
+            if (!VCardBuilder.isDelimiter(current, VCardBuilder.VCARD_BEGIN, relaxedParsing)) {
+                throw new ParserException(lineNo);
+            }
+            properties = new ArrayList<Property>();
+        }
+        else if (VCardBuilder.isDelimiter(current, VCardBuilder.VCARD_END, relaxedParsing)) {
+            cards.add(new VCard(properties));
+            properties = null;
+        }
+        else if (tokenizer.tokenize(current)) {
+            try {
+                properties.add(VCardBuilder.createProperty(tokenizer, groupRegistry, propertyFactoryRegistry,
+                        parameterFactoryRegistry));
+            }
+            catch (URISyntaxException e) {
+                throw new ParserException("Error parsing line", lineNo, e);
+            }
+            catch (ParseException e) {
+                throw new ParserException("Error parsing line", lineNo, e);
+            }
+            catch (IllegalArgumentException e) {
+                throw new ParserException("Error parsing line", lineNo, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.Set;
+
+/**
+ * A placeholder for a property that has not yet been constructed by its factory. Only the
+ * group and identifier are resolved when the content line is read, with the line itself
+ * retained so that the property may be constructed on first access or written out
+ * verbatim if never accessed.
+ *
+ * <p>Instances are held only within a {@link VCard}, which replaces them with the resolved
+ * property before returning them from any accessor.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class LazyProperty extends Property {
+
+    private static final long serialVersionUID = -2399245375093946207L;
+
+    private final String line;
+
+    private final int lineNo;
+
+    private final transient GroupRegistry groupRegistry;
+
+    private final transient PropertyFactoryRegistry propertyFactoryRegistry;
+
+    private final transient ParameterFactoryRegistry parameterFactoryRegistry;
+
+    /**
+     * The names of parameters in the content line, read on first use.
+     */
+    private transient volatile String[] parameterNames;
+
+    /**
+     * The property constructed from the content line on first use.
+     */
+    private transient volatile Property resolved;
+
+    /**
+     * @param group the property group
+     * @param id the identifier of the property the line will resolve to
+     * @param line the unfolded content line
+     * @param lineNo the line number reported should the line fail to resolve
+     * @param groupRegistry a group registry used to resolve the property
+     * @param propertyFactoryRegistry a property factory registry used to resolve the property
+     * @param parameterFactoryRegistry a parameter factory registry used to resolve the property
+     */
+    LazyProperty(final Group group, final Id id, final String line, final int lineNo,
+            final GroupRegistry groupRegistry, final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        super(group, id);
+        this.line = line;
+        this.lineNo = lineNo;
+        this.groupRegistry = groupRegistry;
+        this.propertyFactoryRegistry = propertyFactoryRegistry;
+        this.parameterFactoryRegistry = parameterFactoryRegistry;
+    }
+
+    /**
+     * @param group the property group
+     * @param extendedName the non-standard name of the property the line will resolve to
+     * @param line the unfolded content line
+     * @param lineNo the line number reported should the line fail to resolve
+     * @param groupRegistry a group registry used to resolve the property
+     * @param propertyFactoryRegistry a property factory registry used to resolve the property
+     * @param parameterFactoryRegistry a parameter factory registry used to resolve the property
+     */
+    LazyProperty(final Group group, final String extendedName, final String line, final int lineNo,
+            final GroupRegistry groupRegistry, final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        super(group, extendedName);
+        this.line = line;
+        this.lineNo = lineNo;
+        this.groupRegistry = groupRegistry;
+        this.propertyFactoryRegistry = propertyFactoryRegistry;
+        this.parameterFactoryRegistry = parameterFactoryRegistry;
+    }
+
+    /**
+     * @return the unfolded content line, exactly as it was read
+     */
+    String getLine() {
+        return line;
+    }
+
+    /**
+     * @param ids parameter identifiers
+     * @return true if the content line includes a parameter with any of the specified identifiers
+     */
+    boolean hasParameter(final Set<Parameter.Id> ids) {
+        for (String name : getParameterNames()) {
+            for (Parameter.Id id : ids) {
+                if (id.getPname().equalsIgnoreCase(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the names of parameters in the content line
+     */
+    private String[] getParameterNames() {
+        String[] names = parameterNames;
+        if (names == null) {
+            final ContentLineTokenizer tokenizer = new ContentLineTokenizer();
+            tokenizer.tokenize(line);
+            names = new String[tokenizer.getParameterCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = tokenizer.getParameterName(i);
+            }
+            parameterNames = names;
+        }
+        return names;
+    }
+
+    /**
+     * Constructs the property represented by the content line. The property is constructed
+     * only once, with the same instance returned by subsequent calls.
+     * @return the resolved property
+     * @throws UncheckedParserException where the property factory rejects the content line
+     */
+    Property resolve() {
+        Property property = resolved;
+        if (property == null) {
+            property = create();
+            resolved = property;
+        }
+        return property;
+    }
+
+    private Property create() {
+        final ContentLineTokenizer tokenizer = new ContentLineTokenizer();
+        tokenizer.tokenize(line);
+        try {
+            return VCardBuilder.createProperty(tokenizer, groupRegistry, propertyFactoryRegistry,
+                    parameterFactoryRegistry);
+        }
+        catch (URISyntaxException e) {
+            throw new UncheckedParserException(new ParserException("Error parsing line", lineNo, e));
+        }
+        catch (ParseException e) {
+            throw new UncheckedParserException(new ParserException("Error parsing line", lineNo, e));
+        }
+        catch (IllegalArgumentException e) {
+            throw new UncheckedParserException(new ParserException("Error parsing line", lineNo, e));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getValue() {
+        return resolve().getValue();
+    }
+
+    /**
+     * Compares the resolved form of the property, such that a lazy property is equal to the
+     * property it resolves to.
+     * @param obj an object to compare
+     * @return true if the specified object is equal to the resolved property
+     * @throws UncheckedParserException where the property factory rejects the content line
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return obj == this || resolve().equals(obj);
+    }
+
+    /**
+     * @return the hash code of the resolved property
+     * @throws UncheckedParserException where the property factory rejects the content line
+     */
+    @Override
+    public int hashCode() {
+        return resolve().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate() throws ValidationException {
+        resolve().validate();
+    }
+
+    /**
+     * Serializes the resolved property, as the registries required to resolve the content
+     * line are not serialized.
+     * @return the resolved property
+     */
+    private Object writeReplace() {
+        return resolve();
+    }
+}
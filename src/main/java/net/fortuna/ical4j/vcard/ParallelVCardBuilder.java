@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.data.ParserException;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Builds vCard objects from large files in parallel.
+ *
+ * <p>Each file is memory-mapped and divided into chunks at the start of unfolded
+ * <code>BEGIN:VCARD</code> lines, so that no card spans more than one chunk. Chunks are then
+ * parsed concurrently on a {@link ForkJoinPool} by independent {@link VCardBuilder} instances
+ * reading the mapped UTF-8 data directly. By default cards are returned in the order they
+ * appear in the file, however an unordered builder returns the cards of each chunk as soon
+ * as that chunk is complete.</p>
+ *
+ * <p>Given a directory, all files accepted by {@link VCardFileFilter} are parsed, in order
+ * of their names, with chunks from every file sharing the same pool. Gzip compressed files
+ * cannot be divided, and so are each decompressed and parsed as a single chunk.</p>
+ *
+ * <p>Line numbers reported by a {@link ParserException} are relative to the start of the
+ * chunk containing the failing card.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public final class ParallelVCardBuilder {
+
+    /**
+     * The default minimum chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final int SCAN_WINDOW = 64 * 1024;
+
+    private static final byte[] VCARD_BEGIN = {'B', 'E', 'G', 'I', 'N', ':', 'V', 'C', 'A', 'R', 'D'};
+
+    private final ForkJoinPool pool;
+
+    private final boolean ordered;
+
+    private final int chunkSize;
+
+    private final GroupRegistry groupRegistry;
+
+    private final PropertyFactoryRegistry propertyFactoryRegistry;
+
+    private final ParameterFactoryRegistry parameterFactoryRegistry;
+
+    /**
+     * Creates an ordered builder using the common pool.
+     */
+    public ParallelVCardBuilder() {
+        this(ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * @param pool the pool on which chunks are parsed
+     * @param ordered if true cards are returned in file order, otherwise in order of
+     * chunk completion
+     */
+    public ParallelVCardBuilder(final ForkJoinPool pool, final boolean ordered) {
+        this(pool, ordered, DEFAULT_CHUNK_SIZE, new GroupRegistry(), new PropertyFactoryRegistry(),
+                new ParameterFactoryRegistry());
+    }
+
+    /**
+     * @param pool the pool on which chunks are parsed
+     * @param ordered if true cards are returned in file order, otherwise in order of
+     * chunk completion
+     * @param chunkSize the minimum size in bytes of each chunk. Chunks are larger where
+     * required to divide a file evenly across the pool parallelism.
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     */
+    public ParallelVCardBuilder(final ForkJoinPool pool, final boolean ordered, final int chunkSize,
+            final GroupRegistry registry, final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.groupRegistry = registry;
+        this.propertyFactoryRegistry = propertyFactoryRegistry;
+        this.parameterFactoryRegistry = parameterFactoryRegistry;
+    }
+
+    /**
+     * @param file a vCard file, or a directory containing vCard files
+     * @return a list of vCard object instances
+     * @throws IOException where a problem occurs reading vCard data
+     * @throws ParserException where parsing vCard data fails
+     */
+    public List<VCard> buildAll(final File file) throws IOException, ParserException {
+        final List<Callable<List<VCard>>> chunks = new ArrayList<Callable<List<VCard>>>();
+        if (file.isDirectory()) {
+            final File[] files = file.listFiles((FileFilter) VCardFileFilter.INSTANCE);
+            if (files == null) {
+                throw new IOException("Unable to list directory: " + file);
+            }
+            Arrays.sort(files);
+            for (final File f : files) {
+                map(f, chunks);
+            }
+        }
+        else {
+            map(file, chunks);
+        }
+        return build(chunks);
+    }
+
+    /**
+     * Maps the specified file as a sequence of chunks split on card boundaries.
+     */
+    private void map(final File file, final List<Callable<List<VCard>>> chunks) throws IOException {
+        if (file.getName().endsWith(GzipCodec.INSTANCE.getSuffix())) {
+            chunks.add(new Callable<List<VCard>>() {
+                @Override
+                public List<VCard> call() throws IOException, ParserException {
+                    try (InputStream in = new FileInputStream(file)) {
+                        return new VCardBuilder(in, GzipCodec.INSTANCE, groupRegistry, propertyFactoryRegistry,
+                                parameterFactoryRegistry).buildAll();
+                    }
+                }
+            });
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long targetSize = Math.max(chunkSize, size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD));
+            long start = 0;
+            while (start < size) {
+                long end = size;
+                if (size - start > targetSize) {
+                    end = nextBoundary(channel, start + targetSize, size);
+                }
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IOException("No card boundary found within mappable range at offset "
+                            + start + " of " + file);
+                }
+                chunks.add(chunk(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * @return the offset of the first <code>BEGIN:VCARD</code> line starting at or after the
+     * specified offset, or the file size if there is none
+     */
+    private static long nextBoundary(final FileChannel channel, final long from, final long size)
+            throws IOException {
+
+        // each window includes the byte preceding the first candidate offset..
+        long position = from - 1;
+        while (position + VCARD_BEGIN.length < size) {
+            final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(SCAN_WINDOW, size - position));
+            final int limit = window.limit();
+            final boolean eof = position + limit == size;
+            for (int i = 1; i + VCARD_BEGIN.length <= limit; i++) {
+                final byte previous = window.get(i - 1);
+                if ((previous == '\n' || previous == '\r') && isBegin(window, i, eof)) {
+                    return position + i;
+                }
+            }
+            if (eof) {
+                break;
+            }
+            // overlap windows so that a delimiter spanning a window boundary is found..
+            position += limit - VCARD_BEGIN.length - 1;
+        }
+        return size;
+    }
+
+    /**
+     * @return true if the specified offset starts a line consisting of a (case-insensitive)
+     * <code>BEGIN:VCARD</code> delimiter
+     */
+    private static boolean isBegin(final ByteBuffer window, final int offset, final boolean eof) {
+        for (int i = 0; i < VCARD_BEGIN.length; i++) {
+            final int b = window.get(offset + i);
+            if (b != VCARD_BEGIN[i] && (b < 'a' || b > 'z' || b - ('a' - 'A') != VCARD_BEGIN[i])) {
+                return false;
+            }
+        }
+        final int end = offset + VCARD_BEGIN.length;
+        if (end == window.limit()) {
+            return eof;
+        }
+        final byte next = window.get(end);
+        return next == '\r' || next == '\n' || next == ' ' || next == '\t';
+    }
+
+    private Callable<List<VCard>> chunk(final ByteBuffer chunk) {
+        return new Callable<List<VCard>>() {
+            @Override
+            public List<VCard> call() throws IOException, ParserException {
+                return new VCardBuilder(chunk, groupRegistry, propertyFactoryRegistry,
+                        parameterFactoryRegistry).buildAll();
+            }
+        };
+    }
+
+    private List<VCard> build(final List<Callable<List<VCard>>> chunks) throws IOException, ParserException {
+        final List<Future<List<VCard>>> tasks = new ArrayList<Future<List<VCard>>>(chunks.size());
+        final CompletionService<List<VCard>> completion = new ExecutorCompletionService<List<VCard>>(pool);
+        for (final Callable<List<VCard>> chunk : chunks) {
+            tasks.add(completion.submit(chunk));
+        }
+
+        final List<VCard> cards = new ArrayList<VCard>();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                final Future<List<VCard>> task;
+                if (ordered) {
+                    task = tasks.get(i);
+                }
+                else {
+                    task = completion.take();
+                }
+                cards.addAll(task.get());
+            }
+        }
+        catch (InterruptedException e) {
+            cancel(tasks);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing vCard data");
+        }
+        catch (ExecutionException e) {
+            cancel(tasks);
+            final Throwable cause = e.getCause();
+            if (cause instanceof ParserException) {
+                throw (ParserException) cause;
+            }
+            else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        return Collections.unmodifiableList(cards);
+    }
+
+    private static void cancel(final List<Future<List<VCard>>> tasks) {
+        for (final Future<List<VCard>> task : tasks) {
+            task.cancel(true);
+        }
+    }
+}
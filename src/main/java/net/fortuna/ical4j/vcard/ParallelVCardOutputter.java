@@ -0,0 +1,392 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.data.AbstractOutputter;
+import net.fortuna.ical4j.validate.ValidationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Generates vCard object data streams from large collections of cards in parallel.
+ *
+ * <p>Cards are divided into batches that are encoded concurrently on a {@link ForkJoinPool},
+ * each into its own byte buffer by a {@link VCardOutputter}, such that its downgrader,
+ * canonical form and buffer reuse settings all apply. Completed buffers are then written in
+ * their original order, so that the output is identical to that of the same
+ * {@link VCardOutputter} writing all cards in a single batch. Only a limited number of
+ * batches are held in memory at once, allowing collections of any size to be streamed.</p>
+ *
+ * <p>Output encoded by a {@link VCardCodec} is not supported, as each batch would be
+ * encoded independently of the others. Each batch is written to the output once complete,
+ * such that the flush interval of the outputter is not applicable.</p>
+ *
+ * <p>Where a card fails validation all preceding cards will have been written.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public final class ParallelVCardOutputter extends AbstractOutputter {
+
+    /**
+     * The default number of cards encoded by each task.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+
+    private final int batchSize;
+
+    private final VCardOutputter outputter;
+
+    /**
+     * Creates a validating outputter using the common pool.
+     */
+    public ParallelVCardOutputter() {
+        this(ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * @param pool the pool on which cards are encoded
+     * @param validating specifies whether to validate vCard objects prior to output
+     */
+    public ParallelVCardOutputter(final ForkJoinPool pool, final boolean validating) {
+        super(validating);
+        this.pool = pool;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.outputter = new VCardOutputter(validating);
+    }
+
+    /**
+     * @param pool the pool on which cards are encoded
+     * @param validating specifies whether to validate vCard objects prior to output
+     * @param foldLength specifies the maximum line length
+     * @param batchSize the number of cards encoded by each task
+     */
+    public ParallelVCardOutputter(final ForkJoinPool pool, final boolean validating, final int foldLength,
+            final int batchSize) {
+        this(pool, new VCardOutputter(validating, foldLength), batchSize);
+    }
+
+    /**
+     * Creates an outputter that encodes each batch of cards with the specified outputter,
+     * which must not have a codec. Cards are validated where the specified outputter is
+     * validating at the time of construction.
+     * @param pool the pool on which cards are encoded
+     * @param outputter the outputter used to encode each batch of cards
+     * @param batchSize the number of cards encoded by each task
+     */
+    public ParallelVCardOutputter(final ForkJoinPool pool, final VCardOutputter outputter,
+            final int batchSize) {
+        super(outputter.isValidating());
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (outputter.getCodec() != null) {
+            throw new IllegalArgumentException("Encoded output is not supported");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.outputter = outputter;
+    }
+
+    /**
+     * @return the rules used to write vCards that are not version 4.0
+     */
+    public VCardDowngrader getDowngrader() {
+        return outputter.getDowngrader();
+    }
+
+    /**
+     * @param downgrader the rules used to write vCards that are not version 4.0
+     */
+    public void setDowngrader(final VCardDowngrader downgrader) {
+        outputter.setDowngrader(downgrader);
+    }
+
+    /**
+     * Outputs a collection of vCard objects to the specified output stream, which is left open.
+     * @param cards the vCard objects to output
+     * @param out an output stream to write the vCard strings to
+     * @return statistics of the output
+     * @throws IOException thrown when unable to write to output stream
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public Statistics output(final Iterable<VCard> cards, final OutputStream out)
+            throws IOException, ValidationException {
+        return output(cards.iterator(), out, null);
+    }
+
+    /**
+     * Outputs a stream of vCard objects to the specified output stream, as for
+     * {@link #output(Iterable, OutputStream)}. The stream of cards is consumed on the calling
+     * thread, and is not closed.
+     * @param cards the vCard objects to output
+     * @param out an output stream to write the vCard strings to
+     * @return statistics of the output
+     * @throws IOException thrown when unable to write to output stream
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public Statistics output(final Stream<VCard> cards, final OutputStream out)
+            throws IOException, ValidationException {
+        return output(cards.iterator(), out, null);
+    }
+
+    /**
+     * Outputs a collection of vCard objects to the specified channel, as for
+     * {@link #output(Iterable, OutputStream)}. The channel is left open.
+     * @param cards the vCard objects to output
+     * @param out a channel to write the vCard strings to
+     * @return statistics of the output
+     * @throws IOException thrown when unable to write to the channel
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public Statistics output(final Iterable<VCard> cards, final WritableByteChannel out)
+            throws IOException, ValidationException {
+        return output(cards.iterator(), null, out);
+    }
+
+    /**
+     * Outputs a stream of vCard objects to the specified channel, as for
+     * {@link #output(Stream, OutputStream)}. The channel is left open.
+     * @param cards the vCard objects to output
+     * @param out a channel to write the vCard strings to
+     * @return statistics of the output
+     * @throws IOException thrown when unable to write to the channel
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public Statistics output(final Stream<VCard> cards, final WritableByteChannel out)
+            throws IOException, ValidationException {
+        return output(cards.iterator(), null, out);
+    }
+
+    private Statistics output(final Iterator<VCard> cards, final OutputStream out,
+            final WritableByteChannel channel) throws IOException, ValidationException {
+
+        if (outputter.getCodec() != null) {
+            throw new IllegalStateException("Encoded output is not supported");
+        }
+        final long start = System.nanoTime();
+        final int window = pool.getParallelism() * BATCHES_PER_THREAD;
+        final Deque<Future<Batch>> pending = new ArrayDeque<Future<Batch>>(window);
+        long cardCount = 0;
+        long byteCount = 0;
+        try {
+            while (cards.hasNext() || !pending.isEmpty()) {
+                if (cards.hasNext() && pending.size() < window) {
+                    final List<VCard> batch = new ArrayList<VCard>(batchSize);
+                    while (batch.size() < batchSize && cards.hasNext()) {
+                        batch.add(cards.next());
+                    }
+                    pending.add(pool.submit(new Callable<Batch>() {
+                        @Override
+                        public Batch call() throws IOException {
+                            return encode(batch);
+                        }
+                    }));
+                    continue;
+                }
+
+                // write the oldest batch to make room for the next..
+                final Batch batch = pending.remove().get();
+                if (out != null) {
+                    batch.writeTo(out);
+                }
+                else {
+                    batch.writeTo(channel);
+                }
+                cardCount += batch.cardCount;
+                byteCount += batch.size();
+                if (batch.validationException != null) {
+                    throw batch.validationException;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing vCard data");
+        }
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        finally {
+            cancel(pending);
+            if (out != null) {
+                out.flush();
+            }
+        }
+        return new Statistics(cardCount, byteCount, System.nanoTime() - start);
+    }
+
+    /**
+     * Encodes the specified cards, stopping at the first card that fails validation.
+     */
+    private Batch encode(final List<VCard> cards) throws IOException {
+        final Batch batch = new Batch();
+        final Utf8FoldingOutput writer = outputter.open(batch);
+        try {
+            for (VCard card : cards) {
+                if (isValidating()) {
+                    card.validate();
+                }
+                outputter.write(card, writer);
+                batch.cardCount++;
+            }
+        }
+        catch (ValidationException e) {
+            batch.validationException = e;
+        }
+        finally {
+            outputter.finish(writer);
+        }
+        return batch;
+    }
+
+    private static void cancel(final Deque<Future<Batch>> tasks) {
+        for (final Future<Batch> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * The encoded form of a batch of cards.
+     */
+    private static final class Batch extends ByteArrayOutputStream {
+
+        private int cardCount;
+
+        private ValidationException validationException;
+
+        Batch() {
+            super(BUFFER_SIZE);
+        }
+
+        void writeTo(final WritableByteChannel channel) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.wrap(buf, 0, count);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Statistics of a completed output.
+     */
+    public static final class Statistics {
+
+        private final long cardCount;
+
+        private final long byteCount;
+
+        private final long elapsedNanos;
+
+        Statistics(final long cardCount, final long byteCount, final long elapsedNanos) {
+            this.cardCount = cardCount;
+            this.byteCount = byteCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the number of cards written
+         */
+        public long getCardCount() {
+            return cardCount;
+        }
+
+        /**
+         * @return the number of bytes written
+         */
+        public long getByteCount() {
+            return byteCount;
+        }
+
+        /**
+         * @return the time taken to write all cards, in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the average number of cards written per second
+         */
+        public double getCardsPerSecond() {
+            if (elapsedNanos <= 0) {
+                return 0;
+            }
+            return cardCount * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format("%d cards, %d bytes in %.3f s (%.0f cards/s)", cardCount, byteCount,
+                    elapsedNanos / 1e9, getCardsPerSecond());
+        }
+    }
+}
@@ -32,10 +32,10 @@
 package net.fortuna.ical4j.vcard;
 
 import net.fortuna.ical4j.vcard.parameter.Type;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Objects;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -56,6 +56,8 @@ public abstract class Parameter implements Serializable {
      */
     private static final long serialVersionUID = 6858428041113700722L;
 
+    private static final String TYPE_PNAME = Id.TYPE.getPname().toLowerCase();
+
 //    private static Map<String, Id> idFromPname = new HashMap<String, Id>();
 
     /**
@@ -161,6 +163,11 @@ public abstract class Parameter implements Serializable {
 
     String extendedName = "";
 
+    /**
+     * The hash code of the parameter, or zero if not yet computed.
+     */
+    private transient int hash;
+
 
 //    public static Id getId(String pname) {
 //    	return idFromPname.get(pname);
@@ -193,11 +200,22 @@ public abstract class Parameter implements Serializable {
     public abstract String getValue();
 
     /**
-     * {@inheritDoc}
+     * Parameters are equal where they are of the same class, and have equal identifiers and
+     * values.
+     * @param obj an object to compare
+     * @return true if the specified object is an equal parameter
+     * @see #valueEquals(Parameter)
      */
     @Override
     public boolean equals(final Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        final Parameter other = (Parameter) obj;
+        return id == other.id && Objects.equals(extendedName, other.extendedName) && valueEquals(other);
     }
 
     /**
@@ -205,7 +223,35 @@ public abstract class Parameter implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hashCode(id);
+            result = 31 * result + Objects.hashCode(extendedName);
+            result = 31 * result + valueHashCode();
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Compares the value of this parameter with that of another parameter of the same class.
+     * Subclasses should override this, together with {@link #valueHashCode()}, to compare the
+     * fields holding the value, as the default implementation compares the results of
+     * {@link #getValue()}.
+     * @param other a parameter of the same class as this parameter
+     * @return true if the parameters have equal values
+     */
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(getValue(), other.getValue());
+    }
+
+    /**
+     * Computes a hash code for the value of the parameter, consistent with
+     * {@link #valueEquals(Parameter)}. As parameters are immutable the hash code is cached.
+     * @return a hash code for the parameter value
+     */
+    protected int valueHashCode() {
+        return Objects.hashCode(getValue());
     }
 
     /**
@@ -214,13 +260,30 @@ public abstract class Parameter implements Serializable {
     @Override
     public final String toString() {
         final StringBuilder b = new StringBuilder();
+        try {
+            write(b);
+        }
+        catch (IOException e) {
+            // not thrown by StringBuilder..
+            throw new IllegalStateException(e);
+        }
+        return b.toString();
+    }
+
+    /**
+     * Writes a vCard-compliant representation of the parameter directly to the specified
+     * output, without first building it as a string.
+     * @param b the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    void write(final Appendable b) throws IOException {
         if (Id.EXTENDED.equals(id)) {
 //            b.append("X-");
             b.append(extendedName);
         }
         else if (this instanceof Type) {
             // Cyrus tests have type in lower case
-            b.append(id.getPname().toLowerCase());
+            b.append(TYPE_PNAME);
         }
         else {
             b.append(id.getPname());
@@ -251,11 +314,11 @@ public abstract class Parameter implements Serializable {
             }
         }
 */
-        if (getValue() != null) {
+        final String value = getValue();
+        if (value != null) {
             b.append('=');
-            b.append(getValue());
+            b.append(value);
         }
-        return b.toString();
     }
 /*
     private void addVal(StringBuilder b,
@@ -31,9 +31,13 @@
  */
 package net.fortuna.ical4j.vcard;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.fortuna.ical4j.vcard.Parameter.Id;
 import net.fortuna.ical4j.vcard.parameter.Altid;
@@ -55,6 +59,18 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * A registry for standard and non-standard parameter factories.
+ *
+ * <p>As standard parameters are immutable, those constructed via
+ * {@link #createParameter(String, String)} are retained for reuse, such that repeated
+ * occurrences of a parameter with the same name and value share a single instance. The number
+ * of parameters retained is bounded, with those not recently used discarded as others are
+ * retained, such that a run of unique values never prevents the reuse of common ones.</p>
+ *
+ * <p>All registries created with the default constructor, as by the default constructors of
+ * {@link VCardBuilder}, share a single set of retained parameters, so that parameters are
+ * reused across every vCard parsed in the application. A registry created with a specific
+ * capacity retains its own parameters, which are reused only by builders sharing that
+ * registry.</p>
  * 
  * $Id$
  *
@@ -66,31 +82,88 @@ import org.apache.commons.logging.LogFactory;
 public class ParameterFactoryRegistry {
 
     private static final Log LOG = LogFactory.getLog(ParameterFactoryRegistry.class);
+
+    /**
+     * The default maximum number of parameters retained for reuse.
+     */
+    public static final int DEFAULT_INTERN_CAPACITY = 4096;
     
+    private static final Map<Id, ParameterFactory<? extends Parameter>> DEFAULT_FACTORIES;
+
+    /**
+     * The standard parameter factories, for which parameters are retained for reuse.
+     */
+    private static final Set<ParameterFactory<? extends Parameter>> INTERNED_FACTORIES;
+
+    /**
+     * Parameters retained for reuse by all registries created with the default constructor.
+     */
+    private static final InternCache DEFAULT_INTERNED = new InternCache(DEFAULT_INTERN_CAPACITY);
+
+    static {
+        final Map<Id, ParameterFactory<? extends Parameter>> factories =
+                new HashMap<Id, ParameterFactory<? extends Parameter>>();
+        factories.put(Parameter.Id.ALTID, Altid.FACTORY);
+        factories.put(Parameter.Id.CALSCALE, Calscale.FACTORY);
+        factories.put(Parameter.Id.ENCODING, Encoding.FACTORY);
+        factories.put(Parameter.Id.FMTTYPE, Fmttype.FACTORY);
+        factories.put(Parameter.Id.GEO, Geo.FACTORY);
+        factories.put(Parameter.Id.LANGUAGE, Language.FACTORY);
+        factories.put(Parameter.Id.PID, Pid.FACTORY);
+        factories.put(Parameter.Id.PREF, Pref.FACTORY);
+        factories.put(Parameter.Id.SORT_AS, SortAs.FACTORY);
+        factories.put(Parameter.Id.TYPE, Type.FACTORY);
+        factories.put(Parameter.Id.TZ, Tz.FACTORY);
+        factories.put(Parameter.Id.VALUE, Value.FACTORY);
+        factories.put(Parameter.Id.VERSION, Version.FACTORY);
+        DEFAULT_FACTORIES = Collections.unmodifiableMap(factories);
+
+        final Set<ParameterFactory<? extends Parameter>> interned = Collections.newSetFromMap(
+                new IdentityHashMap<ParameterFactory<? extends Parameter>, Boolean>());
+        interned.addAll(factories.values());
+        INTERNED_FACTORIES = Collections.unmodifiableSet(interned);
+    }
+
     private final Map<Id, ParameterFactory<? extends Parameter>> defaultFactories;
     
     private final Map<String, ParameterFactory<? extends Parameter>> extendedFactories;
+
+    /**
+     * Parameters retained for reuse, or null if parameters are never reused.
+     */
+    private final InternCache interned;
     
     /**
-     * 
+     * Creates a registry sharing retained parameters with all other registries created
+     * with this constructor.
      */
     public ParameterFactoryRegistry() {
-        defaultFactories = new HashMap<Id, ParameterFactory<? extends Parameter>>();
-        defaultFactories.put(Parameter.Id.ALTID, Altid.FACTORY);
-        defaultFactories.put(Parameter.Id.CALSCALE, Calscale.FACTORY);
-        defaultFactories.put(Parameter.Id.ENCODING, Encoding.FACTORY);
-        defaultFactories.put(Parameter.Id.FMTTYPE, Fmttype.FACTORY);
-        defaultFactories.put(Parameter.Id.GEO, Geo.FACTORY);
-        defaultFactories.put(Parameter.Id.LANGUAGE, Language.FACTORY);
-        defaultFactories.put(Parameter.Id.PID, Pid.FACTORY);
-        defaultFactories.put(Parameter.Id.PREF, Pref.FACTORY);
-        defaultFactories.put(Parameter.Id.SORT_AS, SortAs.FACTORY);
-        defaultFactories.put(Parameter.Id.TYPE, Type.FACTORY);
-        defaultFactories.put(Parameter.Id.TZ, Tz.FACTORY);
-        defaultFactories.put(Parameter.Id.VALUE, Value.FACTORY);
-        defaultFactories.put(Parameter.Id.VERSION, Version.FACTORY);
-        
-        extendedFactories = new ConcurrentHashMap<String, ParameterFactory<? extends Parameter>>();
+        this(DEFAULT_INTERNED);
+    }
+
+    /**
+     * Creates a registry retaining its own parameters for reuse.
+     * @param internCapacity the maximum number of parameters retained for reuse, or zero to
+     * construct a new instance of every parameter
+     */
+    public ParameterFactoryRegistry(final int internCapacity) {
+        this(newInternCache(internCapacity));
+    }
+
+    private ParameterFactoryRegistry(final InternCache interned) {
+        this.interned = interned;
+        this.defaultFactories = DEFAULT_FACTORIES;
+        this.extendedFactories = new ConcurrentHashMap<String, ParameterFactory<? extends Parameter>>();
+    }
+
+    private static InternCache newInternCache(final int internCapacity) {
+        if (internCapacity < 0) {
+            throw new IllegalArgumentException("Invalid intern capacity: " + internCapacity);
+        }
+        if (internCapacity > 0) {
+            return new InternCache(internCapacity);
+        }
+        return null;
     }
     
     /**
@@ -109,6 +182,45 @@ public class ParameterFactoryRegistry {
         return extendedFactories.get(value);
     }
     
+    /**
+     * Constructs a parameter using the factory for the specified parameter id. Standard
+     * parameters are retained for reuse, and so the same instance may be returned for
+     * repeated calls with the same arguments. Parameters constructed by non-standard
+     * factories are never reused, as they may not be immutable.
+     * @param name a string representation of a parameter id
+     * @param value a parameter value used to create a new instance
+     * @return a parameter, or null if there is no factory for the parameter id
+     * @see #getFactory(String)
+     */
+    public Parameter createParameter(final String name, final String value) {
+        final ParameterFactory<? extends Parameter> factory = getFactory(name);
+        if (factory == null) {
+            return null;
+        }
+        if (interned == null || value == null || !INTERNED_FACTORIES.contains(factory)) {
+            return factory.createParameter(value);
+        }
+        final InternKey key = new InternKey(factory, value);
+        Parameter parameter = interned.get(key);
+        if (parameter == null) {
+            parameter = factory.createParameter(value);
+            if (parameter != null) {
+                parameter = interned.put(key, parameter);
+            }
+        }
+        return parameter;
+    }
+
+    /**
+     * @return the number of parameters currently retained for reuse
+     */
+    int getInternedCount() {
+        if (interned == null) {
+            return 0;
+        }
+        return interned.size();
+    }
+
     /**
      * Registers a non-standard parameter factory.
      * @param extendedName the non-standard parameter name
@@ -117,4 +229,92 @@ public class ParameterFactoryRegistry {
     public void register(String extendedName, ParameterFactory<Parameter> factory) {
         extendedFactories.put(extendedName, factory);
     }
+
+    /**
+     * Identifies a retained parameter by the factory that constructed it and its raw value.
+     */
+    private static final class InternKey {
+
+        private final ParameterFactory<? extends Parameter> factory;
+
+        private final String value;
+
+        InternKey(final ParameterFactory<? extends Parameter> factory, final String value) {
+            this.factory = factory;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof InternKey)) {
+                return false;
+            }
+            final InternKey other = (InternKey) obj;
+            return factory == other.factory && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(factory) + value.hashCode();
+        }
+    }
+
+    /**
+     * A bounded cache of parameters, approximating least recently used eviction with two
+     * generations. New parameters are added to the young generation, which once half the
+     * capacity is reached becomes the old generation, discarding the previous old generation.
+     * Parameters found in the old generation are promoted to the young generation, such that
+     * only those not used during an entire generation are discarded. Lookups never lock, and
+     * concurrent changes of generation may at worst discard a recently added parameter.
+     */
+    private static final class InternCache {
+
+        private final int generationCapacity;
+
+        private volatile ConcurrentMap<InternKey, Parameter> young;
+
+        private volatile ConcurrentMap<InternKey, Parameter> old;
+
+        InternCache(final int capacity) {
+            this.generationCapacity = Math.max(1, capacity / 2);
+            this.young = new ConcurrentHashMap<InternKey, Parameter>();
+            this.old = new ConcurrentHashMap<InternKey, Parameter>();
+        }
+
+        Parameter get(final InternKey key) {
+            Parameter parameter = young.get(key);
+            if (parameter == null) {
+                parameter = old.get(key);
+                if (parameter != null) {
+                    parameter = put(key, parameter);
+                }
+            }
+            return parameter;
+        }
+
+        /**
+         * @return the retained parameter, which is the specified parameter unless another
+         * was retained concurrently
+         */
+        Parameter put(final InternKey key, final Parameter parameter) {
+            final ConcurrentMap<InternKey, Parameter> generation = young;
+            final Parameter existing = generation.putIfAbsent(key, parameter);
+            if (existing != null) {
+                return existing;
+            }
+            if (generation.size() >= generationCapacity) {
+                synchronized (this) {
+                    if (young == generation) {
+                        old = generation;
+                        young = new ConcurrentHashMap<InternKey, Parameter>();
+                    }
+                }
+            }
+            return parameter;
+        }
+
+        int size() {
+            return young.size() + old.size();
+        }
+    }
 }
@@ -35,15 +35,16 @@ import net.fortuna.ical4j.model.Encodable;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.util.Strings;
 import net.fortuna.ical4j.vcard.parameter.Value;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Objects;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -68,6 +69,14 @@ public abstract class Property implements Serializable {
 
     private static final String ILLEGAL_PARAMETER_COUNT_MESSAGE = "Parameter [{0}] exceeds allowable count";
 
+    private static final char[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * Size of the buffer used to write Base64 values, which must be a multiple of four.
+     */
+    private static final int BASE64_CHUNK_SIZE = 1024;
+
     /**
      * Enumeration of property identifiers.
      */
@@ -158,6 +167,15 @@ public abstract class Property implements Serializable {
 
     private final List<Parameter> parameters;
 
+    private transient boolean cacheEnabled;
+
+    private transient volatile SerializedForm serializedForm;
+
+    /**
+     * The hash code of the property value, or zero if not yet computed.
+     */
+    private transient int valueHash;
+
     /**
      * @param extendedName a non-standard property name
      */
@@ -223,7 +241,7 @@ public abstract class Property implements Serializable {
     protected Property(final Group group, final Id id, final List<Parameter> parameters) {
         this.group = group;
         this.id = id;
-        this.parameters = new CopyOnWriteArrayList<Parameter>(parameters);
+        this.parameters = new SnapshotList<Parameter>(parameters);
     }
 
     /**
@@ -385,11 +403,29 @@ public abstract class Property implements Serializable {
     }
 
     /**
-     * {@inheritDoc}
+     * Properties are equal where they are of the same class, and have equal groups, identifiers,
+     * parameters and values. A property not yet constructed by a vCard built in lazy mode is
+     * compared in its constructed form.
+     * @param obj an object to compare
+     * @return true if the specified object is an equal property
+     * @see #valueEquals(Property)
      */
     @Override
     public boolean equals(final Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof LazyProperty) {
+            // compare with the resolved form..
+            return obj.equals(this);
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        final Property other = (Property) obj;
+        return id == other.id && Objects.equals(extendedName, other.extendedName)
+                && Objects.equals(group, other.group) && parameters.equals(other.parameters)
+                && valueEquals(other);
     }
 
     /**
@@ -397,7 +433,68 @@ public abstract class Property implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hash = valueHash;
+        if (hash == 0) {
+            hash = valueHashCode();
+            valueHash = hash;
+        }
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(extendedName);
+        result = 31 * result + Objects.hashCode(group);
+        result = 31 * result + parameters.hashCode();
+        return 31 * result + hash;
+    }
+
+    /**
+     * Compares the value of this property with that of another property of the same class.
+     * Subclasses should override this, together with {@link #valueHashCode()}, to compare the
+     * fields holding the value, as the default implementation compares the results of
+     * {@link #getValue()}.
+     * @param other a property of the same class as this property
+     * @return true if the properties have equal values
+     */
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(getValue(), other.getValue());
+    }
+
+    /**
+     * Computes a hash code for the value of the property, consistent with
+     * {@link #valueEquals(Property)}. As property values are immutable the result is cached, so
+     * binary values must not be modified in place once the property is hashed.
+     * @return a hash code for the property value
+     */
+    protected int valueHashCode() {
+        return Objects.hashCode(getValue());
+    }
+
+    /**
+     * Rejects all further changes to the parameter list of the property.
+     * @see VCard#freeze()
+     */
+    final void freeze() {
+        if (parameters instanceof SnapshotList) {
+            ((SnapshotList<Parameter>) parameters).freeze();
+        }
+    }
+
+    /**
+     * Enables or disables caching of the serialized form of the property. When enabled the
+     * property is serialized once and the result reused until its parameter list is modified,
+     * which suits properties that are written many times without change. As property values
+     * are immutable only parameter changes are tracked, so binary values must not be modified
+     * in place while caching is enabled.
+     * @param cacheEnabled true to cache the serialized form of the property
+     */
+    public final void setCacheEnabled(final boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        this.serializedForm = null;
+    }
+
+    /**
+     * @return true if the serialized form of the property is cached
+     */
+    public final boolean isCacheEnabled() {
+        return cacheEnabled;
     }
 
     /**
@@ -405,30 +502,154 @@ public abstract class Property implements Serializable {
      */
     @Override
     public final String toString() {
+        if (cacheEnabled) {
+            return getSerializedForm();
+        }
         final StringBuilder b = new StringBuilder();
+        try {
+            write(b);
+        }
+        catch (IOException e) {
+            // not thrown by StringBuilder..
+            throw new IllegalStateException(e);
+        }
+        return b.toString();
+    }
+
+    /**
+     * Writes a vCard-compliant representation of the property directly to the specified
+     * output, one piece at a time, without first building it as a string.
+     * @param out the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    void write(final Appendable out) throws IOException {
+        if (cacheEnabled) {
+            out.append(getSerializedForm());
+        }
+        else {
+            writeContent(out);
+        }
+    }
+
+    /**
+     * @return the cached serialized form of the property, recreated if the parameters have changed
+     */
+    private String getSerializedForm() {
+        SerializedForm form = serializedForm;
+        if (form == null || !form.isCurrent(parameters)) {
+            // snapshot first so that any concurrent change invalidates the new form..
+            final Object[] state = parameters.toArray();
+            final StringBuilder b = new StringBuilder();
+            try {
+                writeContent(b);
+            }
+            catch (IOException e) {
+                // not thrown by StringBuilder..
+                throw new IllegalStateException(e);
+            }
+            form = new SerializedForm(state, b.toString());
+            serializedForm = form;
+        }
+        return form.getValue();
+    }
+
+    private void writeContent(final Appendable out) throws IOException {
         if (group != null) {
-            b.append(group);
-            b.append('.');
+            out.append(group.toString());
+            out.append('.');
         }
         if (Id.EXTENDED.equals(id)) {
-//            b.append("X-");
-            b.append(extendedName);
+//            out.append("X-");
+            out.append(extendedName);
         }
         else {
-            b.append(id.getPropertyName());
+            out.append(id.getPropertyName());
         }
         for (Parameter param : parameters) {
-            b.append(';');
-            b.append(param);
+            out.append(';');
+            param.write(out);
         }
-        b.append(':');
-        if (this instanceof Encodable) {
-            b.append(Strings.escape(Strings.valueOf(getValue())));
+        out.append(':');
+        writeValue(out);
+        out.append(Strings.LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes the property value, escaped where required. Subclasses may override this method
+     * to write large values incrementally rather than through {@link #getValue()}.
+     * @param out the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    protected void writeValue(final Appendable out) throws IOException {
+        final String value = Strings.valueOf(getValue());
+        // most values need no escaping, so avoid copying them..
+        if (this instanceof Encodable && requiresEscape(value)) {
+            out.append(Strings.escape(value));
         }
         else {
-            b.append(Strings.valueOf(getValue()));
+            out.append(value);
+        }
+    }
+
+    /**
+     * @param value a property value
+     * @return true if the value includes any character that may be escaped
+     */
+    private static boolean requiresEscape(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '\\':
+                case ';':
+                case ',':
+                case '"':
+                case '\r':
+                case '\n':
+                    return true;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes binary data as Base64 text, as produced by {@link java.util.Base64#getEncoder()},
+     * using a fixed-size buffer regardless of the size of the data.
+     * @param binary the data to encode
+     * @param out the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    protected static void writeBase64(final byte[] binary, final Appendable out) throws IOException {
+        final char[] chunk = new char[BASE64_CHUNK_SIZE];
+        final CharBuffer chunkBuffer = CharBuffer.wrap(chunk);
+        int length = 0;
+        for (int i = 0; i < binary.length; i += 3) {
+            final int remaining = binary.length - i;
+            final int b0 = binary[i] & 0xff;
+            final int b1 = remaining > 1 ? binary[i + 1] & 0xff : 0;
+            final int b2 = remaining > 2 ? binary[i + 2] & 0xff : 0;
+            chunk[length++] = BASE64_ALPHABET[b0 >> 2];
+            chunk[length++] = BASE64_ALPHABET[((b0 << 4) | (b1 >> 4)) & 0x3f];
+            chunk[length++] = remaining > 1 ? BASE64_ALPHABET[((b1 << 2) | (b2 >> 6)) & 0x3f] : '=';
+            chunk[length++] = remaining > 2 ? BASE64_ALPHABET[b2 & 0x3f] : '=';
+            if (length == chunk.length) {
+                writeChunk(chunk, chunkBuffer, length, out);
+                length = 0;
+            }
+        }
+        writeChunk(chunk, chunkBuffer, length, out);
+    }
+
+    private static void writeChunk(final char[] chunk, final CharBuffer chunkBuffer, final int length,
+            final Appendable out) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer) out).write(chunk, 0, length);
+        }
+        else {
+            out.append(chunkBuffer, 0, length);
         }
-        b.append(Strings.LINE_SEPARATOR);
-        return b.toString();
     }
 }
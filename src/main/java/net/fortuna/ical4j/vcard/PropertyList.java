@@ -0,0 +1,499 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The list of properties of a {@link VCard}, indexed by property identifier and non-standard
+ * property name. The list may be modified freely, including through sub-lists, with the
+ * index rebuilt on the first lookup following any change to the list. Lookups return
+ * properties from the snapshot of the list held by the index, so are consistent even where
+ * the list is concurrently modified. Resolving a lazy property in place does not invalidate
+ * the index.
+ *
+ * <p>As for {@link SnapshotList}, which holds the properties, iterators traverse a snapshot
+ * of the list and do not support modification.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class PropertyList extends AbstractList<Property> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = -2003367519532766233L;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final SnapshotList<Property> properties;
+
+    /**
+     * Incremented following each change that invalidates the index.
+     */
+    private final AtomicInteger version = new AtomicInteger();
+
+    private transient volatile Index index;
+
+    /**
+     * @param properties the initial properties
+     */
+    PropertyList(final Collection<Property> properties) {
+        this.properties = new SnapshotList<Property>(properties);
+    }
+
+    /**
+     * Rejects all further changes to the list.
+     */
+    void freeze() {
+        properties.freeze();
+    }
+
+    /**
+     * @return true if the list has been frozen
+     */
+    boolean isFrozen() {
+        return properties.isFrozen();
+    }
+
+    /**
+     * Returns the current index, rebuilding it if the list has changed. The index holds its own
+     * snapshot of the list, and positions within the index refer to that snapshot rather than to
+     * the list, which may since have been changed by another thread.
+     * @return the current index
+     */
+    Index index() {
+        Index current = index;
+        if (current == null || current.version != version.get()) {
+            current = new Index(version.get(), properties.toArray(new Property[0]));
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Replaces a property, such as a lazy property with its resolved form, provided the list
+     * still holds the expected property at the same position. The index is updated where the
+     * replacement is indexed identically to the expected property.
+     * @param current the index reporting the position of the expected property
+     * @param position the position of the expected property within the index
+     * @param expected the property to replace
+     * @param replacement the replacement property
+     */
+    void replace(final Index current, final int position, final Property expected, final Property replacement) {
+        if (!properties.compareAndSet(position, expected, replacement)) {
+            return;
+        }
+        if (Index.isSameKey(expected, replacement)) {
+            current.replace(position, expected, replacement);
+            // ..and any index built since from a snapshot holding the expected property
+            final Index latest = index;
+            if (latest != null && latest != current) {
+                latest.replace(position, expected, replacement);
+            }
+        }
+        else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Invalidates the index following a change to the list. This must follow, rather than
+     * precede, the change so that an index built concurrently is never considered current.
+     */
+    private void changed() {
+        modCount++;
+        invalidate();
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Property get(final int index) {
+        return properties.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Property set(final int index, final Property element) {
+        final Property previous = properties.set(index, element);
+        // not a structural modification, but the index holds the replaced property..
+        invalidate();
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final Property element) {
+        properties.add(element);
+        changed();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final int index, final Property element) {
+        properties.add(index, element);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends Property> c) {
+        final boolean modified = properties.addAll(c);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends Property> c) {
+        final boolean modified = properties.addAll(index, c);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Property remove(final int index) {
+        final Property previous = properties.remove(index);
+        changed();
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o) {
+        final boolean modified = properties.remove(o);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        final boolean modified = properties.removeAll(c);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        final boolean modified = properties.retainAll(c);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super Property> filter) {
+        final boolean modified = properties.removeIf(filter);
+        changed();
+        return modified;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void replaceAll(final UnaryOperator<Property> operator) {
+        properties.replaceAll(operator);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sort(final Comparator<? super Property> c) {
+        properties.sort(c);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        properties.clear();
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        properties.removeRange(fromIndex, toIndex);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return properties.contains(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(final Object o) {
+        return properties.indexOf(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(final Object o) {
+        return properties.lastIndexOf(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return properties.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(final T[] a) {
+        return properties.toArray(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Property> iterator() {
+        return properties.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<Property> listIterator() {
+        return properties.listIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<Property> listIterator(final int index) {
+        return properties.listIterator(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<Property> spliterator() {
+        return properties.spliterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super Property> action) {
+        properties.forEach(action);
+    }
+
+    /**
+     * Positions of properties by identifier and non-standard name, within a snapshot of the list.
+     */
+    static final class Index {
+
+        private final int version;
+
+        /**
+         * The snapshot of the list, to which positions refer. Elements are replaced only with
+         * identically indexed properties, such as when resolving lazy properties.
+         */
+        private final Property[] properties;
+
+        private final Map<Property.Id, int[]> standard = new EnumMap<Property.Id, int[]>(Property.Id.class);
+
+        private final Map<String, int[]> extended = new HashMap<String, int[]>();
+
+        Index(final int version, final Property[] properties) {
+            this.version = version;
+            this.properties = properties;
+            final Map<Property.Id, List<Integer>> standardPositions =
+                    new EnumMap<Property.Id, List<Integer>>(Property.Id.class);
+            final Map<String, List<Integer>> extendedPositions = new HashMap<String, List<Integer>>();
+            for (int i = 0; i < properties.length; i++) {
+                final Property property = properties[i];
+                add(standardPositions, property.getId(), i);
+                if (Property.Id.EXTENDED.equals(property.getId())) {
+                    add(extendedPositions, property.extendedName, i);
+                }
+            }
+            for (Map.Entry<Property.Id, List<Integer>> entry : standardPositions.entrySet()) {
+                standard.put(entry.getKey(), toArray(entry.getValue()));
+            }
+            for (Map.Entry<String, List<Integer>> entry : extendedPositions.entrySet()) {
+                extended.put(entry.getKey(), toArray(entry.getValue()));
+            }
+        }
+
+        /**
+         * @param id a property identifier
+         * @return the positions of all properties with the specified identifier, in order
+         */
+        int[] positions(final Property.Id id) {
+            final int[] positions = standard.get(id);
+            if (positions == null) {
+                return NO_POSITIONS;
+            }
+            return positions;
+        }
+
+        /**
+         * @param extendedName a non-standard property name
+         * @return the positions of all non-standard properties with the specified name, in order
+         */
+        int[] positions(final String extendedName) {
+            final int[] positions = extended.get(extendedName);
+            if (positions == null) {
+                return NO_POSITIONS;
+            }
+            return positions;
+        }
+
+        /**
+         * @param position a position within the index
+         * @return the property at the specified position
+         */
+        Property get(final int position) {
+            return properties[position];
+        }
+
+        /**
+         * Replaces a property within the snapshot with an identically indexed property.
+         */
+        void replace(final int position, final Property expected, final Property replacement) {
+            if (position < properties.length && properties[position] == expected) {
+                properties[position] = replacement;
+            }
+        }
+
+        /**
+         * @return true if the specified properties are indexed identically
+         */
+        static boolean isSameKey(final Property a, final Property b) {
+            if (a == b) {
+                return true;
+            }
+            if (a == null || b == null || !a.getId().equals(b.getId())) {
+                return false;
+            }
+            return !Property.Id.EXTENDED.equals(a.getId()) || Objects.equals(a.extendedName, b.extendedName);
+        }
+
+        private static <K> void add(final Map<K, List<Integer>> positions, final K key, final int position) {
+            List<Integer> list = positions.get(key);
+            if (list == null) {
+                list = new ArrayList<Integer>(1);
+                positions.put(key, list);
+            }
+            list.add(position);
+        }
+
+        private static int[] toArray(final List<Integer> list) {
+            final int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+    }
+}
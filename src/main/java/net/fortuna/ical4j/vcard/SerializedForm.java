@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cached serialized form of a property or vCard, together with a snapshot of the
+ * parameters (and properties) it was created from. The form remains current only while
+ * those lists hold exactly the same instances in the same order, which may be checked with
+ * a few reference comparisons rather than serializing again.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class SerializedForm {
+
+    private final Object[] state;
+
+    private final String value;
+
+    /**
+     * @param state the instances from which the form was created
+     * @param value the serialized form
+     */
+    SerializedForm(final Object[] state, final String value) {
+        this.state = state;
+        this.value = value;
+    }
+
+    /**
+     * @return the serialized form
+     */
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * @param parameters the current parameters of a property
+     * @return true if the parameters are unchanged since the form was created
+     */
+    boolean isCurrent(final List<Parameter> parameters) {
+        int i = 0;
+        for (Parameter parameter : parameters) {
+            if (i == state.length || state[i++] != parameter) {
+                return false;
+            }
+        }
+        return i == state.length;
+    }
+
+    /**
+     * @param properties the current properties of a vCard
+     * @return true if the properties, and their parameters, are unchanged since the form was created
+     */
+    boolean isCurrentProperties(final List<Property> properties) {
+        int i = 0;
+        for (Property property : properties) {
+            if (i == state.length || state[i++] != property) {
+                return false;
+            }
+            for (Parameter parameter : property.getParameters()) {
+                if (i == state.length || state[i++] != parameter) {
+                    return false;
+                }
+            }
+        }
+        return i == state.length;
+    }
+
+    /**
+     * @param properties the current properties of a vCard
+     * @return a snapshot of the properties and their parameters, for use with {@link #isCurrentProperties(List)}
+     */
+    static Object[] snapshot(final List<Property> properties) {
+        final List<Object> state = new ArrayList<Object>();
+        for (Property property : properties) {
+            state.add(property);
+            state.addAll(property.getParameters());
+        }
+        return state.toArray();
+    }
+}
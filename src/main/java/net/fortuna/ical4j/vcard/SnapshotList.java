@@ -0,0 +1,641 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe list that, like {@link java.util.concurrent.CopyOnWriteArrayList}, gives
+ * iterators a snapshot of the list that is unaffected by later changes, but that appends
+ * elements without copying the list.
+ *
+ * <p>Elements are held in an array with spare capacity, and the list is published to readers
+ * as an array together with a size. Appending writes beyond the size of every published
+ * snapshot, so only growing the array, or any other change, requires a copy.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class SnapshotList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 4474906215437613398L;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private static final Snapshot EMPTY_STATE = new Snapshot(EMPTY, 0);
+
+    private static final int MIN_CAPACITY = 4;
+
+    private transient volatile Snapshot state;
+
+    private volatile boolean frozen;
+
+    /**
+     * Creates an empty list.
+     */
+    SnapshotList() {
+        state = EMPTY_STATE;
+    }
+
+    /**
+     * @param c the initial elements
+     */
+    SnapshotList(final Collection<? extends E> c) {
+        final Object[] elements = toObjectArray(c);
+        if (elements.length == 0) {
+            state = EMPTY_STATE;
+        }
+        else {
+            state = new Snapshot(elements, elements.length);
+        }
+    }
+
+    /**
+     * Rejects all further changes to the list, and releases any spare capacity.
+     */
+    synchronized void freeze() {
+        final Snapshot current = state;
+        if (current.size == 0) {
+            state = EMPTY_STATE;
+        }
+        else if (current.size < current.elements.length) {
+            state = new Snapshot(Arrays.copyOf(current.elements, current.size), current.size);
+        }
+        frozen = true;
+    }
+
+    /**
+     * @return true if the list has been frozen
+     */
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(final int index) {
+        final Snapshot current = state;
+        checkIndex(index, current.size);
+        return (E) current.elements[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return state.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized E set(final int index, final E element) {
+        checkMutable();
+        final Snapshot current = state;
+        checkIndex(index, current.size);
+        final Object[] elements = Arrays.copyOf(current.elements, current.elements.length);
+        final E previous = (E) elements[index];
+        elements[index] = element;
+        state = new Snapshot(elements, current.size);
+        return previous;
+    }
+
+    /**
+     * Replaces the element at the specified position, provided it is the expected element.
+     * @param index the position of the element
+     * @param expected the element expected at the position
+     * @param element the replacement element
+     * @return true if the element was replaced
+     */
+    synchronized boolean compareAndSet(final int index, final E expected, final E element) {
+        final Snapshot current = state;
+        if (frozen || index >= current.size || current.elements[index] != expected) {
+            return false;
+        }
+        set(index, element);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean add(final E element) {
+        checkMutable();
+        final Snapshot current = state;
+        Object[] elements = current.elements;
+        if (current.size == elements.length) {
+            elements = Arrays.copyOf(elements, capacity(current.size + 1));
+        }
+        elements[current.size] = element;
+        state = new Snapshot(elements, current.size + 1);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void add(final int index, final E element) {
+        checkMutable();
+        final Snapshot current = state;
+        if (index < 0 || index > current.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.size);
+        }
+        if (index == current.size) {
+            add(element);
+            return;
+        }
+        final Object[] elements = new Object[capacity(current.size + 1)];
+        System.arraycopy(current.elements, 0, elements, 0, index);
+        elements[index] = element;
+        System.arraycopy(current.elements, index, elements, index + 1, current.size - index);
+        state = new Snapshot(elements, current.size + 1);
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends E> c) {
+        final Object[] added = toObjectArray(c);
+        synchronized (this) {
+            checkMutable();
+            if (added.length == 0) {
+                return false;
+            }
+            final Snapshot current = state;
+            Object[] elements = current.elements;
+            if (current.size + added.length > elements.length) {
+                elements = Arrays.copyOf(elements, capacity(current.size + added.length));
+            }
+            System.arraycopy(added, 0, elements, current.size, added.length);
+            state = new Snapshot(elements, current.size + added.length);
+            modCount++;
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends E> c) {
+        final Object[] added = toObjectArray(c);
+        synchronized (this) {
+            checkMutable();
+            final Snapshot current = state;
+            if (index < 0 || index > current.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.size);
+            }
+            if (added.length == 0) {
+                return false;
+            }
+            final Object[] elements = new Object[capacity(current.size + added.length)];
+            System.arraycopy(current.elements, 0, elements, 0, index);
+            System.arraycopy(added, 0, elements, index, added.length);
+            System.arraycopy(current.elements, index, elements, index + added.length, current.size - index);
+            state = new Snapshot(elements, current.size + added.length);
+            modCount++;
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized E remove(final int index) {
+        checkMutable();
+        final Snapshot current = state;
+        checkIndex(index, current.size);
+        final E previous = (E) current.elements[index];
+        removeRange(index, index + 1);
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean remove(final Object o) {
+        checkMutable();
+        final int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        removeRange(index, index + 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        return removeIf(new Predicate<Object>() {
+            @Override
+            public boolean test(final Object element) {
+                return c.contains(element);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        return removeIf(new Predicate<Object>() {
+            @Override
+            public boolean test(final Object element) {
+                return !c.contains(element);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized boolean removeIf(final Predicate<? super E> filter) {
+        checkMutable();
+        final Snapshot current = state;
+        final Object[] elements = new Object[current.elements.length];
+        int size = 0;
+        for (int i = 0; i < current.size; i++) {
+            if (!filter.test((E) current.elements[i])) {
+                elements[size++] = current.elements[i];
+            }
+        }
+        if (size == current.size) {
+            return false;
+        }
+        state = new Snapshot(elements, size);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized void replaceAll(final UnaryOperator<E> operator) {
+        checkMutable();
+        final Snapshot current = state;
+        final Object[] elements = Arrays.copyOf(current.elements, current.elements.length);
+        for (int i = 0; i < current.size; i++) {
+            elements[i] = operator.apply((E) elements[i]);
+        }
+        state = new Snapshot(elements, current.size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized void sort(final Comparator<? super E> c) {
+        checkMutable();
+        final Snapshot current = state;
+        final Object[] elements = Arrays.copyOf(current.elements, current.elements.length);
+        Arrays.sort((E[]) elements, 0, current.size, c);
+        state = new Snapshot(elements, current.size);
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        checkMutable();
+        state = EMPTY_STATE;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected synchronized void removeRange(final int fromIndex, final int toIndex) {
+        checkMutable();
+        final Snapshot current = state;
+        if (fromIndex < 0 || toIndex > current.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex
+                    + ", Size: " + current.size);
+        }
+        final Object[] elements = new Object[current.elements.length];
+        System.arraycopy(current.elements, 0, elements, 0, fromIndex);
+        System.arraycopy(current.elements, toIndex, elements, fromIndex, current.size - toIndex);
+        state = new Snapshot(elements, current.size - (toIndex - fromIndex));
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(final Object o) {
+        final Snapshot current = state;
+        for (int i = 0; i < current.size; i++) {
+            if (o == null ? current.elements[i] == null : o.equals(current.elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(final Object o) {
+        final Snapshot current = state;
+        for (int i = current.size - 1; i >= 0; i--) {
+            if (o == null ? current.elements[i] == null : o.equals(current.elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        final Snapshot current = state;
+        return Arrays.copyOf(current.elements, current.size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(final T[] a) {
+        final Snapshot current = state;
+        if (a.length < current.size) {
+            return (T[]) Arrays.copyOf(current.elements, current.size, a.getClass());
+        }
+        System.arraycopy(current.elements, 0, a, 0, current.size);
+        if (a.length > current.size) {
+            a[current.size] = null;
+        }
+        return a;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<E>(state, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return new SnapshotIterator<E>(state, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator(final int index) {
+        final Snapshot current = state;
+        if (index < 0 || index > current.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.size);
+        }
+        return new SnapshotIterator<E>(current, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        final Snapshot current = state;
+        return Spliterators.spliterator(current.elements, 0, current.size,
+                Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        final Snapshot current = state;
+        for (int i = 0; i < current.size; i++) {
+            action.accept((E) current.elements[i]);
+        }
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("List is frozen");
+        }
+    }
+
+    private static void checkIndex(final int index, final int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * @param required the minimum number of elements to hold
+     * @return the capacity of a new array, allowing for half as many elements again
+     */
+    private static int capacity(final int required) {
+        return Math.max(MIN_CAPACITY, required + (required >> 1));
+    }
+
+    private static Object[] toObjectArray(final Collection<?> c) {
+        final Object[] elements = c.toArray();
+        if (elements.getClass() != Object[].class) {
+            return Arrays.copyOf(elements, elements.length, Object[].class);
+        }
+        return elements;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        final Snapshot current = state;
+        out.defaultWriteObject();
+        out.writeInt(current.size);
+        for (int i = 0; i < current.size; i++) {
+            out.writeObject(current.elements[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid size: " + size);
+        }
+        if (size == 0) {
+            state = EMPTY_STATE;
+            return;
+        }
+        final Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = in.readObject();
+        }
+        state = new Snapshot(elements, size);
+    }
+
+    /**
+     * The elements of the list at a point in time. Elements beyond the size may be appended
+     * to the array by later changes, but the elements within it are never changed.
+     */
+    private static final class Snapshot {
+
+        private final Object[] elements;
+
+        private final int size;
+
+        Snapshot(final Object[] elements, final int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+    }
+
+    /**
+     * An iterator over a snapshot of the list, which does not support modification.
+     */
+    private static final class SnapshotIterator<E> implements ListIterator<E> {
+
+        private final Snapshot snapshot;
+
+        private int cursor;
+
+        SnapshotIterator(final Snapshot snapshot, final int cursor) {
+            this.snapshot = snapshot;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (cursor >= snapshot.size) {
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot.elements[cursor++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E previous() {
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot.elements[--cursor];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(final E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(final E e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
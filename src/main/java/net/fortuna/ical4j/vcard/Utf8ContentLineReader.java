@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.util.CompatibilityHints;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Arrays;
+
+/**
+ * Reads content lines directly from UTF-8 encoded bytes. Line splitting and unfolding are
+ * performed on the raw bytes, which is safe as all delimiters are ASCII and can never
+ * occur within a multi-byte UTF-8 sequence. Lines are returned as {@link Utf8CharSequence}
+ * views over a reused buffer, so only the regions subsequently converted to strings are
+ * ever decoded.
+ *
+ * <p>As with {@link java.io.BufferedReader#readLine()}, a line is terminated by LF, CR or
+ * CRLF. A CRLF followed by a space or horizontal tab is removed as a fold, as is a bare LF
+ * followed by whitespace where relaxed unfolding is enabled.</p>
+ *
+ * <p>The byte offset of each line is tracked, relative to the start of a buffer or to the
+ * initial position of a channel as specified on construction.</p>
+ *
+ * <p>Channels are read in blocking mode only, with a non-blocking {@link SelectableChannel}
+ * rejected rather than polled until data is available.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class Utf8ContentLineReader extends ContentLineReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EOF = -1;
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final boolean relaxedUnfolding;
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    /**
+     * The offset immediately following the last byte transferred into the buffer.
+     */
+    private long end;
+
+    private long lineOffset = -1;
+
+    private final Utf8CharSequence current = new Utf8CharSequence(line, 0, 0);
+
+    /**
+     * @param buffer a buffer providing vCard data between its position and limit. The
+     * buffer position is advanced as data is consumed.
+     */
+    Utf8ContentLineReader(final ByteBuffer buffer) {
+        this.channel = null;
+        this.buffer = buffer;
+        this.end = buffer.limit();
+        this.relaxedUnfolding = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING);
+    }
+
+    /**
+     * @param channel a channel providing vCard data
+     */
+    Utf8ContentLineReader(final ReadableByteChannel channel) {
+        this(channel, 0);
+    }
+
+    /**
+     * @param channel a channel providing vCard data
+     * @param offset the byte offset of the channel's current position
+     * @throws IllegalArgumentException where the channel is in non-blocking mode
+     */
+    Utf8ContentLineReader(final ReadableByteChannel channel, final long offset) {
+        if (isNonBlocking(channel)) {
+            throw new IllegalArgumentException("Non-blocking channels are not supported");
+        }
+        this.channel = channel;
+        this.end = offset;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        this.relaxedUnfolding = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CharSequence readLine() throws IOException {
+        lineLength = 0;
+        lineOffset = getOffset();
+        int b = read();
+        if (b == EOF) {
+            return null;
+        }
+        while (b != EOF) {
+            if (b == '\r') {
+                if (peek() != '\n') {
+                    break;
+                }
+                read();
+                if (!isFoldWhitespace(peek())) {
+                    break;
+                }
+                read();
+            }
+            else if (b == '\n') {
+                if (!relaxedUnfolding || !isFoldWhitespace(peek())) {
+                    break;
+                }
+                read();
+            }
+            else {
+                append((byte) b);
+            }
+            b = read();
+        }
+        current.reset(line, 0, lineLength);
+        return current;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long getLineOffset() {
+        return lineOffset;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    long getOffset() {
+        return end - buffer.remaining();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void append(final byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        return buffer.get(buffer.position()) & 0xff;
+    }
+
+    /**
+     * @return true if more data is available in the buffer
+     */
+    private boolean fill() throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = channel.read(buffer);
+            if (read == 0 && isNonBlocking(channel)) {
+                throw new IllegalStateException("Channel is no longer in blocking mode");
+            }
+        }
+        buffer.flip();
+        if (read > 0) {
+            end += read;
+        }
+        return read > 0;
+    }
+
+    private static boolean isNonBlocking(final ReadableByteChannel channel) {
+        return channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking();
+    }
+
+    private static boolean isFoldWhitespace(final int b) {
+        return b == ' ' || b == '\t';
+    }
+}
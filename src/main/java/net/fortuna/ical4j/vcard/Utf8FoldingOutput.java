@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes vCard content directly to UTF-8 bytes, folding lines as it does so. As required
+ * by RFC 6350 line length is measured in octets rather than characters, and a fold is
+ * never inserted within the encoding of a single character.
+ *
+ * <p>Encoded bytes are accumulated in a buffer that is written to the underlying output
+ * stream or channel as it fills and on {@link #flush()}. Instances are not thread-safe, but
+ * may be reused by a single thread through {@link #acquire(OutputStream, WritableByteChannel,
+ * int, int)} and {@link #release()} to avoid allocating a new buffer for each output.</p>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class Utf8FoldingOutput implements Appendable, Flushable {
+
+    /**
+     * The maximum line length in octets permitted by RFC 6350, excluding the line separator.
+     */
+    static final int MAX_FOLD_LENGTH = 75;
+
+    /**
+     * A fold length that disables folding, such as for canonical output.
+     */
+    static final int NO_FOLDING = 0;
+
+    /**
+     * An instance released by the current thread for reuse.
+     */
+    private static final ThreadLocal<Utf8FoldingOutput> RELEASED = new ThreadLocal<Utf8FoldingOutput>();
+
+    private OutputStream out;
+
+    private WritableByteChannel channel;
+
+    private final byte[] buffer;
+
+    /**
+     * The buffer wrapped for writing to a channel.
+     */
+    private final ByteBuffer bytes;
+
+    private int foldLength;
+
+    private int position;
+
+    /**
+     * The number of octets written to the current line.
+     */
+    private int lineLength;
+
+    /**
+     * A high surrogate awaiting the low surrogate that completes the character.
+     */
+    private char highSurrogate;
+
+    /**
+     * @param out the output stream to write encoded bytes to
+     * @param bufferSize the size of the encoding buffer in bytes
+     * @param foldLength the maximum number of octets on each line, excluding the line
+     * separator, or {@link #NO_FOLDING}. Values greater than {@link #MAX_FOLD_LENGTH} are
+     * reduced accordingly.
+     */
+    Utf8FoldingOutput(final OutputStream out, final int bufferSize, final int foldLength) {
+        this(out, null, bufferSize, foldLength);
+    }
+
+    /**
+     * @param channel the channel to write encoded bytes to
+     * @param bufferSize the size of the encoding buffer in bytes
+     * @param foldLength the maximum number of octets on each line, excluding the line
+     * separator, or {@link #NO_FOLDING}. Values greater than {@link #MAX_FOLD_LENGTH} are
+     * reduced accordingly.
+     */
+    Utf8FoldingOutput(final WritableByteChannel channel, final int bufferSize, final int foldLength) {
+        this(null, channel, bufferSize, foldLength);
+    }
+
+    private Utf8FoldingOutput(final OutputStream out, final WritableByteChannel channel,
+            final int bufferSize, final int foldLength) {
+        this.buffer = new byte[Math.max(bufferSize, 8)];
+        this.bytes = ByteBuffer.wrap(buffer);
+        reset(out, channel, foldLength);
+    }
+
+    /**
+     * Returns an instance for the current thread, reusing the buffer of an instance
+     * previously released by the same thread where possible. Once complete the instance
+     * should be returned with {@link #release()}.
+     * @param out the output stream to write encoded bytes to, or null to write to a channel
+     * @param channel the channel to write encoded bytes to, or null to write to a stream
+     * @param bufferSize the minimum size of the encoding buffer in bytes
+     * @param foldLength the maximum number of octets on each line, as for the constructors
+     * @return an instance for the current thread
+     */
+    static Utf8FoldingOutput acquire(final OutputStream out, final WritableByteChannel channel,
+            final int bufferSize, final int foldLength) {
+        final Utf8FoldingOutput released = RELEASED.get();
+        if (released == null || released.buffer.length < bufferSize) {
+            return new Utf8FoldingOutput(out, channel, bufferSize, foldLength);
+        }
+        // remove while in use, so that nested output uses a separate instance..
+        RELEASED.set(null);
+        released.reset(out, channel, foldLength);
+        return released;
+    }
+
+    /**
+     * Makes this instance available for reuse by the current thread. Any buffered bytes
+     * are discarded, so the instance should first be flushed.
+     */
+    void release() {
+        reset(null, null, NO_FOLDING);
+        RELEASED.set(this);
+    }
+
+    private void reset(final OutputStream out, final WritableByteChannel channel, final int foldLength) {
+        if (foldLength != NO_FOLDING && foldLength < 5) {
+            // must allow at least a fold space and any four octet character..
+            throw new IllegalArgumentException("Fold length must be at least 5 octets: " + foldLength);
+        }
+        this.out = out;
+        this.channel = channel;
+        if (foldLength == NO_FOLDING) {
+            this.foldLength = Integer.MAX_VALUE;
+        }
+        else {
+            this.foldLength = Math.min(foldLength, MAX_FOLD_LENGTH);
+        }
+        this.position = 0;
+        this.lineLength = 0;
+        this.highSurrogate = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(final CharSequence csq) throws IOException {
+        if (csq == null) {
+            return append("null");
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Appendable append(final char c) throws IOException {
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                fold(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return this;
+            }
+            // unpaired surrogate - replace as the standard encoder does..
+            append('?');
+        }
+
+        if (c == '\r' || c == '\n') {
+            ensureCapacity(1);
+            buffer[position++] = (byte) c;
+            lineLength = 0;
+        }
+        else if (c < 0x80) {
+            fold(1);
+            buffer[position++] = (byte) c;
+        }
+        else if (c < 0x800) {
+            fold(2);
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        }
+        else if (Character.isLowSurrogate(c)) {
+            append('?');
+        }
+        else {
+            fold(3);
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return this;
+    }
+
+    /**
+     * Writes all buffered bytes to the underlying output, which is also flushed where it is
+     * an output stream. A high surrogate not yet followed by its low surrogate is written as
+     * an unpaired surrogate, as by {@link java.io.OutputStreamWriter} at the end of input.
+     * @throws IOException where a problem occurs writing to the underlying output
+     */
+    @Override
+    public void flush() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            append('?');
+        }
+        drain();
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Ensures capacity for a character of the specified encoded length, first folding the
+     * line if the character would not otherwise fit.
+     */
+    private void fold(final int length) throws IOException {
+        if (length > foldLength - lineLength) {
+            ensureCapacity(3 + length);
+            buffer[position++] = '\r';
+            buffer[position++] = '\n';
+            buffer[position++] = ' ';
+            lineLength = 1;
+        }
+        else {
+            ensureCapacity(length);
+        }
+        lineLength += length;
+    }
+
+    private void ensureCapacity(final int length) throws IOException {
+        if (buffer.length - position < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (out != null) {
+            out.write(buffer, 0, position);
+        }
+        else {
+            bytes.clear();
+            bytes.limit(position);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        position = 0;
+    }
+}
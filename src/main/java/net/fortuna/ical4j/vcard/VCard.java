@@ -31,20 +31,35 @@
  */
 package net.fortuna.ical4j.vcard;
 
-import net.fortuna.ical4j.model.Encodable;
 import net.fortuna.ical4j.util.Strings;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.vcard.Property.Id;
 import net.fortuna.ical4j.vcard.property.Kind;
 import net.fortuna.ical4j.vcard.property.Version;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
 
 /**
  * vCard object.
  *
+ * <p>A vCard built in lazy mode (see {@link VCardBuilder#setLazy(boolean)}) may hold
+ * properties that have not yet been constructed. Such properties are resolved in place when
+ * first returned by any accessor, and written verbatim by {@link #toString()} otherwise.</p>
+ *
+ * <p>Properties are indexed by identifier and non-standard name, so that accessors for
+ * specific properties do not scan the property list. The index is maintained across any
+ * modification of the list returned by {@link #getProperties()}.</p>
+ *
+ * <p>A vCard may be made immutable with {@link #freeze()}, which suits vCards retained in
+ * memory for lookup.</p>
+ *
  * $Id$
  *
  * Created on 21/08/2008
@@ -59,7 +74,33 @@ public final class VCard implements Serializable {
      */
     private static final long serialVersionUID = -4784034340843199392L;
 
-    private final List<Property> properties;
+    /**
+     * The properties are serialized as a plain list, as they were prior to the introduction of
+     * {@link PropertyList}, so that the serialized form is unchanged.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("properties", List.class),
+        new ObjectStreamField("frozen", boolean.class)
+    };
+
+    private final transient PropertyList properties;
+
+    /**
+     * Set once all lazy properties have been resolved, after which no further lazy properties
+     * may be added to the list.
+     */
+    private transient volatile boolean resolved;
+
+    /**
+     * The deserialized state, from which {@link #readResolve()} constructs the vCard.
+     */
+    private transient List<Property> deserializedProperties;
+
+    private transient boolean deserializedFrozen;
+
+    private transient boolean cacheEnabled;
+
+    private transient volatile SerializedForm serializedForm;
 
     /**
      * Default constructor.
@@ -72,7 +113,7 @@ public final class VCard implements Serializable {
      * @param properties a list of properties
      */
     public VCard(final List<Property> properties) {
-        this.properties = new CopyOnWriteArrayList<Property>(properties);
+        this.properties = new PropertyList(properties);
     }
 
     /**
@@ -81,6 +122,19 @@ public final class VCard implements Serializable {
      * @return the properties
      */
     public List<Property> getProperties() {
+        if (!resolved) {
+            resolveAll();
+            resolved = true;
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the list of properties for the VCard instance without resolving any lazily
+     * parsed properties, such that the vCard may be read without being modified.
+     * @return the properties, which may include unresolved lazy properties
+     */
+    List<Property> getUnresolvedProperties() {
         return properties;
     }
 
@@ -91,13 +145,8 @@ public final class VCard implements Serializable {
      * @return a list of properties matching the specified identifier
      */
     public List<Property> getProperties(final Id id) {
-        final List<Property> matches = new ArrayList<Property>();
-        for (Property p : properties) {
-            if (p.getId().equals(id)) {
-                matches.add(p);
-            }
-        }
-        return Collections.unmodifiableList(matches);
+        final PropertyList.Index index = properties.index();
+        return resolve(index, index.positions(id));
     }
 
     /**
@@ -106,12 +155,8 @@ public final class VCard implements Serializable {
      * @return the first matching property, or null if no properties match
      */
     public Property getProperty(final Id id) {
-        for (Property p : properties) {
-            if (p.getId().equals(id)) {
-                return p;
-            }
-        }
-        return null;
+        final PropertyList.Index index = properties.index();
+        return resolveFirst(index, index.positions(id));
     }
 
     /**
@@ -121,13 +166,8 @@ public final class VCard implements Serializable {
      * @return a list of non-standard properties matching the specified name
      */
     public List<Property> getExtendedProperties(final String name) {
-        final List<Property> matches = new ArrayList<Property>();
-        for (Property p : properties) {
-            if (p.getId().equals(Id.EXTENDED) && p.extendedName.equals(name)) {
-                matches.add(p);
-            }
-        }
-        return Collections.unmodifiableList(matches);
+        final PropertyList.Index index = properties.index();
+        return resolve(index, index.positions(name));
     }
 
     /**
@@ -136,12 +176,98 @@ public final class VCard implements Serializable {
      * @return the first matching property, or null if no properties match
      */
     public Property getExtendedProperty(final String name) {
-        for (Property p : properties) {
-            if (p.getId().equals(Id.EXTENDED) && p.extendedName.equals(name)) {
-                return p;
+        final PropertyList.Index index = properties.index();
+        return resolveFirst(index, index.positions(name));
+    }
+
+    /**
+     * @param index the property index
+     * @param positions positions of properties within the index
+     * @return the properties at the specified positions, resolved if necessary
+     */
+    private List<Property> resolve(final PropertyList.Index index, final int[] positions) {
+        if (positions.length == 0) {
+            return Collections.emptyList();
+        }
+        final List<Property> matches = new ArrayList<Property>(positions.length);
+        for (int position : positions) {
+            matches.add(resolve(index, position));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * @param index the property index
+     * @param positions positions of properties within the index
+     * @return the first property at the specified positions, resolved if necessary, or null
+     * if there are no positions
+     */
+    private Property resolveFirst(final PropertyList.Index index, final int[] positions) {
+        if (positions.length == 0) {
+            return null;
+        }
+        return resolve(index, positions[0]);
+    }
+
+    /**
+     * Replaces a lazy property with its resolved form, provided the property list has not
+     * changed such that the lazy property is no longer at the same position.
+     * @param index the property index
+     * @param position the position of a property within the index
+     * @return the property at the specified position, resolved if necessary
+     */
+    private Property resolve(final PropertyList.Index index, final int position) {
+        final Property property = index.get(position);
+        if (!(property instanceof LazyProperty)) {
+            return property;
+        }
+        final Property resolved = ((LazyProperty) property).resolve();
+        properties.replace(index, position, property, resolved);
+        return resolved;
+    }
+
+    /**
+     * Replaces all lazy properties with their resolved forms in a single change to the list.
+     */
+    private void resolveAll() {
+        properties.replaceAll(new UnaryOperator<Property>() {
+            @Override
+            public Property apply(final Property property) {
+                if (property instanceof LazyProperty) {
+                    return ((LazyProperty) property).resolve();
+                }
+                return property;
             }
+        });
+    }
+
+    /**
+     * Writes the properties without resolving the vCard, as each lazy property is replaced
+     * by its resolved form when serialized.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        final ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("properties", new ArrayList<Property>(properties));
+        fields.put("frozen", isFrozen());
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final ObjectInputStream.GetField fields = in.readFields();
+        deserializedProperties = (List<Property>) fields.get("properties", null);
+        deserializedFrozen = fields.get("frozen", false);
+        if (deserializedProperties == null) {
+            throw new InvalidObjectException("No properties");
         }
-        return null;
+    }
+
+    private Object readResolve() {
+        final VCard card = new VCard(deserializedProperties);
+        if (deserializedFrozen) {
+            card.freeze();
+        }
+        return card;
     }
 
     /**
@@ -183,25 +309,141 @@ public final class VCard implements Serializable {
         }
     }
 
+    /**
+     * Makes the vCard immutable, for retaining parsed vCards in memory for lookup. Any lazy
+     * properties are resolved, following which the property list, and the parameter list of
+     * each property, reject all changes and hold their elements in arrays of exactly their
+     * number. A frozen vCard may be shared between threads without copying its properties.
+     * @return this vCard
+     */
+    public VCard freeze() {
+        getProperties();
+        for (Property property : properties) {
+            property.freeze();
+        }
+        properties.freeze();
+        return this;
+    }
+
+    /**
+     * @return true if the vCard has been frozen
+     */
+    public boolean isFrozen() {
+        return properties.isFrozen();
+    }
+
+    /**
+     * Enables or disables caching of the serialized form of the vCard object. When enabled the
+     * vCard is serialized once and the result reused until either its property list or the
+     * parameter list of one of its properties is modified, which suits vCards that are written
+     * many times without change.
+     * @param cacheEnabled true to cache the serialized form of the vCard
+     * @see Property#setCacheEnabled(boolean)
+     */
+    public void setCacheEnabled(final boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        this.serializedForm = null;
+    }
+
+    /**
+     * @return true if the serialized form of the vCard is cached
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
     /**
      * @return a vCard-compliant string representation of the vCard object
      */
     @Override
     public String toString() {
+        if (cacheEnabled) {
+            return getSerializedForm();
+        }
         final StringBuilder b = new StringBuilder();
+        try {
+            write(b);
+        }
+        catch (IOException e) {
+            // not thrown by StringBuilder..
+            throw new IllegalStateException(e);
+        }
+        return b.toString();
+    }
+
+    /**
+     * Writes a vCard-compliant representation of the vCard object directly to the specified
+     * output, one property at a time, without first building it as a string.
+     * @param b the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    void write(final Appendable b) throws IOException {
+        write(b, VCardDowngrader.DEFAULT);
+    }
+
+    /**
+     * Writes a vCard-compliant representation of the vCard object, as for {@link #write(Appendable)},
+     * using the specified rules to write properties where the vCard is not version 4.0.
+     * @param b the output to write to
+     * @param downgrader rules for writing properties to a vCard 3.0 consumer
+     * @throws IOException where a problem occurs writing to the output
+     */
+    void write(final Appendable b, final VCardDowngrader downgrader) throws IOException {
+        // only the default form is cached..
+        if (cacheEnabled && downgrader == VCardDowngrader.DEFAULT) {
+            b.append(getSerializedForm());
+        }
+        else {
+            writeContent(b, downgrader);
+        }
+    }
+
+    /**
+     * @return the cached serialized form of the vCard, recreated if the properties have changed
+     */
+    private String getSerializedForm() {
+        SerializedForm form = serializedForm;
+        if (form == null || !form.isCurrentProperties(properties)) {
+            // snapshot first so that any concurrent change invalidates the new form..
+            final Object[] state = SerializedForm.snapshot(properties);
+            final StringBuilder b = new StringBuilder();
+            try {
+                writeContent(b, VCardDowngrader.DEFAULT);
+            }
+            catch (IOException e) {
+                // not thrown by StringBuilder..
+                throw new IllegalStateException(e);
+            }
+            form = new SerializedForm(state, b.toString());
+            serializedForm = form;
+        }
+        return form.getValue();
+    }
+
+    private void writeContent(final Appendable b, final VCardDowngrader downgrader) throws IOException {
         b.append("BEGIN:VCARD");
         b.append(Strings.LINE_SEPARATOR);
 
         /* Version should come before anything else. */
         boolean version4 = true;
 
-        Version v = (Version)getProperty(Property.Id.VERSION);
+        Version v = null;
+        /* Resolve locally, so that writing never modifies the property list. */
+        final PropertyList.Index index = properties.index();
+        final int[] versions = index.positions(Property.Id.VERSION);
+        if (versions.length > 0) {
+            Property version = index.get(versions[0]);
+            if (version instanceof LazyProperty) {
+                version = ((LazyProperty) version).resolve();
+            }
+            v = (Version) version;
+        }
 
         if (v != null) {
           if (!v.equals(Version.VERSION_4_0)) {
             version4 = false; // Treat it as 3
           }
-          b.append(v);
+          ((Property) v).write(b);
 //        } else {
   //        b.append(Version.VERSION_4_0);
         }
@@ -211,143 +453,29 @@ public final class VCard implements Serializable {
               continue;
             }
 
+            if (prop instanceof LazyProperty) {
+              final LazyProperty lazy = (LazyProperty) prop;
+              if (version4 || downgrader.isSupported(lazy)) {
+                /* Unaccessed, so output exactly as read. */
+                b.append(lazy.getLine());
+                b.append(Strings.LINE_SEPARATOR);
+                continue;
+              }
+              prop = lazy.resolve();
+            }
+
             if (version4) {
-              b.append(prop);
+              prop.write(b);
               continue;
             }
 
             /* Attempt to downgrade by turning some properties into x-props. */
-            appendDowngraded(b, prop);
+            downgrader.write(prop, b);
         }
 
         b.append("END:VCARD");
         b.append(Strings.LINE_SEPARATOR);
-        return b.toString();
     }
 
     public static final String v4AsXpropPrefix = "X-ICAL4J-TOV3-";
-
-    private void appendDowngraded(final StringBuilder b,
-                                  final Property prop) {
-      /* From rfc6350 - vcard 4.0
-
-Appendix A. Differences from RFCs 2425 and 2426
-   This appendix contains a high-level overview of the major changes
-   that have been made in the vCard specification from RFCs 2425 and
-   2426.  It is incomplete, as it only lists the most important changes.
-
-A.1. New Structure
-   o  [RFC2425] and [RFC2426] have been merged.
-
-   o  vCard is now not only a MIME type but a stand-alone format.
-
-   o  A proper MIME type registration form has been included.
-
-   o  UTF-8 is now the only possible character set.
-
-   o  New vCard elements can be registered from IANA.
-
-A.2. Removed Features
-   o  The CONTEXT and CHARSET parameters are no more.
-
-   o  The NAME, MAILER, LABEL, and CLASS properties are no more.
-
-   o  The "intl", "dom", "postal", and "parcel" TYPE parameter values
-      for the ADR property have been removed.
-
-   o  In-line vCards (such as the value of the AGENT property) are no
-      longer supported.
-
-A.3. New Properties and Parameters
-   o  The KIND, GENDER, LANG, ANNIVERSARY, XML, and CLIENTPIDMAP
-      properties have been added.
-
-   o  [RFC2739], which defines the FBURL, CALADRURI, CAPURI, and CALURI
-      properties, has been merged in.
-
-   o  [RFC4770], which defines the IMPP property, has been merged in.
-
-   o  The "work" and "home" TYPE parameter values are now applicable to
-      many more properties.
-
-   o  The "pref" value of the TYPE parameter is now a parameter of its
-      own, with a positive integer value indicating the level of
-      preference.
-
-   o  The ALTID and PID parameters have been added.
-
-   o  The MEDIATYPE parameter has been added and replaces the TYPE
-      parameter when it was used for indicating the media type of the
-      property's content.
-      */
-
-	if (v3Ok(prop)) {
-	    b.append(prop);
-	    return;
-	}
-
-	/* x-prop already? */
-
-	if (Property.Id.EXTENDED == prop.getId()) {
-	    b.append(prop);
-	    return;
-	}
-
-	/* Output as x-prop */
-        if (prop.getGroup() != null) {
-            b.append(prop.getGroup());
-            b.append('.');
-        }
-
-        b.append(v4AsXpropPrefix + prop.getId().getPropertyName());
-
-        for (Parameter param : prop.getParameters()) {
-            b.append(';');
-
-            /* Watch for non v3 */
-            b.append(param);
-        }
-        b.append(':');
-
-        if (prop instanceof Encodable) {
-            b.append(Strings.escape(Strings.valueOf(prop.getValue())));
-        }
-        else {
-            b.append(Strings.valueOf(prop.getValue()));
-        }
-
-        b.append(Strings.LINE_SEPARATOR);
-    }
-
-    private static Set<Property.Id> notV3Ok = new TreeSet<Property.Id>();
-
-    static {
-      notV3Ok.add(Property.Id.KIND);
-      notV3Ok.add(Property.Id.GENDER);
-      notV3Ok.add(Property.Id.LANG);
-      notV3Ok.add(Property.Id.ANNIVERSARY);
-      notV3Ok.add(Property.Id.XML);
-      notV3Ok.add(Property.Id.CLIENTPIDMAP);
-    }
-
-    /* Return true if this property should be OK for v3 */
-    private boolean v3Ok(final Property prop) {
-      Property.Id id = prop.getId();
-
-      if (notV3Ok.contains(id)) {
-	  return false;
-      }
-
-      Parameter par = prop.getParameter(Parameter.Id.ALTID);
-      if (par != null) {
-        return false;
-      }
-
-      par = prop.getParameter(Parameter.Id.PID);
-      if (par != null) {
-        return false;
-      }
-
-      return true;
-    }
 }
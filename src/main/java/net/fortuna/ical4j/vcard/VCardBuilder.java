@@ -32,27 +32,47 @@
 package net.fortuna.ical4j.vcard;
 
 import net.fortuna.ical4j.data.ParserException;
-import net.fortuna.ical4j.data.UnfoldingReader;
 import net.fortuna.ical4j.util.CompatibilityHints;
 import net.fortuna.ical4j.vcard.property.Xproperty;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * vCard object builder.
  *
+ * <p>Besides building a single card or a list of all cards, the builder can be consumed
+ * lazily through {@link #iterator()} or {@link #stream()}, which parse one card at a time
+ * as they are requested. Only the current card is held in memory, so arbitrarily large
+ * inputs can be processed in constant heap. As with a {@link java.nio.file.DirectoryStream},
+ * a builder may only be iterated once and should be closed when no longer required.</p>
+ *
+ * <p>Builders constructed from an {@link InputStream}, {@link ByteBuffer} or
+ * {@link ReadableByteChannel}, such as a {@link java.nio.channels.FileChannel}, read UTF-8
+ * data without an intermediate character decoding step. Unfolding and delimiter scanning
+ * are performed on the raw bytes and only property group, name, parameter and value text
+ * is decoded to strings. Such builders also report the byte offset and ordinal of each
+ * card, allowing long-running imports to checkpoint and later resume.</p>
+ *
  * $Id$
  *
  * Created on: 02/11/2008
@@ -60,47 +80,75 @@ import java.util.regex.Pattern;
  * @author Ben
  *
  */
-public final class VCardBuilder {
+public final class VCardBuilder implements Iterable<VCard>, Closeable {
 
-    private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+    static final String VCARD_BEGIN = "BEGIN:VCARD";
 
-    private static final Pattern VCARD_BEGIN = Pattern.compile("^BEGIN:VCARD$", Pattern.CASE_INSENSITIVE);
+    static final String VCARD_END = "END:VCARD";
 
-    private static final Pattern RELAXED_VCARD_BEGIN = Pattern.compile("^BEGIN:VCARD\\s*$", Pattern.CASE_INSENSITIVE);
+    private final ContentLineReader reader;
+
+    private final GroupRegistry groupRegistry;
 
-    private static final Pattern VCARD_END = Pattern.compile("^END:VCARD$", Pattern.CASE_INSENSITIVE);
+    private final PropertyFactoryRegistry propertyFactoryRegistry;
 
-    private static final Pattern RELAXED_VCARD_END = Pattern.compile("^END:VCARD\\s*$", Pattern.CASE_INSENSITIVE);
+    private final ParameterFactoryRegistry parameterFactoryRegistry;
 
-//    private static final Pattern PROPERTY_NAME_PATTERN = Pattern.compile("^\\w*\\.?\\w*(?=[;:])");
-    /**
-     * This is supposed to cover following cases
-     */
-    static final Pattern PROPERTY_NAME_PATTERN = Pattern.compile(
-       "^(([a-zA-Z-\\d]+\\.)?[a-zA-Z]+(?=[;:]))|" +
-        "(([a-zA-Z-\\d]+\\.)?[Xx]-[a-zA-Z-]+(?=[;:]))");
+    private final boolean relaxedParsing;
 
-    private static final Pattern PROPERTY_VALUE_PATTERN = Pattern.compile("(?<=[:]).*$");
+    private final ContentLineTokenizer tokenizer = new ContentLineTokenizer();
 
-    private static final Pattern PARAMETERS_PATTERN = Pattern.compile("(?<=[;])[^:]*(?=[:])");
+    private final VCardHandler.Parameters parameters = new TokenizerParameters();
 
-    private static final int BUFFER_SIZE = 1024;
+    private String[] projection;
 
-    private final BufferedReader reader;
+    private boolean lazy;
 
-    private final GroupRegistry groupRegistry;
+    private boolean iterated;
 
-    private final PropertyFactoryRegistry propertyFactoryRegistry;
+    /**
+     * The ordinal of the next card to be read.
+     */
+    private long ordinal;
 
-    private final ParameterFactoryRegistry parameterFactoryRegistry;
+    private long cardOrdinal = -1;
 
-    private final boolean relaxedParsing;
+    private long cardOffset = -1;
 
     /**
-     * @param in an input stream providing vCard data
+     * @param in an input stream providing UTF-8 encoded vCard data
      */
     public VCardBuilder(final InputStream in) {
-        this(new InputStreamReader(in, DEFAULT_CHARSET));
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Creates a builder that reads encoded vCard data, such as a compressed archive, in a
+     * single pass.
+     * @param in an input stream providing encoded UTF-8 vCard data
+     * @param codec the codec used to decode the input stream
+     * @throws IOException where the encoded data cannot be read
+     */
+    public VCardBuilder(final InputStream in, final VCardCodec codec) throws IOException {
+        this(in, codec, new GroupRegistry(), new PropertyFactoryRegistry(), new ParameterFactoryRegistry());
+    }
+
+    /**
+     * Creates a builder that reads encoded vCard data, such as a compressed archive, in a
+     * single pass.
+     * @param in an input stream providing encoded UTF-8 vCard data
+     * @param codec the codec used to decode the input stream
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     * @throws IOException where the encoded data cannot be read
+     */
+    public VCardBuilder(final InputStream in, final VCardCodec codec, final GroupRegistry registry,
+            final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) throws IOException {
+        this(Channels.newChannel(codec.decode(in)), registry, propertyFactoryRegistry, parameterFactoryRegistry);
     }
 
     /**
@@ -120,13 +168,137 @@ public final class VCardBuilder {
      */
     public VCardBuilder(final Reader in, final GroupRegistry registry, final PropertyFactoryRegistry propertyFactoryRegistry,
             final ParameterFactoryRegistry parameterFactoryRegistry) {
-        this.reader = new BufferedReader(new UnfoldingReader(in, BUFFER_SIZE), BUFFER_SIZE);
+        this(new CharContentLineReader(in), registry, propertyFactoryRegistry, parameterFactoryRegistry);
+    }
+
+    /**
+     * @param in a buffer providing UTF-8 encoded vCard data between its position and limit.
+     * The buffer position is advanced as data is consumed.
+     */
+    public VCardBuilder(final ByteBuffer in) {
+        this(in, new GroupRegistry(), new PropertyFactoryRegistry(), new ParameterFactoryRegistry());
+    }
+
+    /**
+     * @param in a buffer providing UTF-8 encoded vCard data between its position and limit.
+     * The buffer position is advanced as data is consumed.
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     */
+    public VCardBuilder(final ByteBuffer in, final GroupRegistry registry, final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        this(new Utf8ContentLineReader(in), registry, propertyFactoryRegistry, parameterFactoryRegistry);
+    }
+
+    /**
+     * @param in a channel providing UTF-8 encoded vCard data, which must be in blocking mode
+     */
+    public VCardBuilder(final ReadableByteChannel in) {
+        this(in, new GroupRegistry(), new PropertyFactoryRegistry(), new ParameterFactoryRegistry());
+    }
+
+    /**
+     * @param in a channel providing UTF-8 encoded vCard data, which must be in blocking mode
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     */
+    public VCardBuilder(final ReadableByteChannel in, final GroupRegistry registry,
+            final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        this(new Utf8ContentLineReader(in), registry, propertyFactoryRegistry, parameterFactoryRegistry);
+    }
+
+    /**
+     * Creates a builder that resumes parsing from a checkpoint previously obtained through
+     * {@link #getOffset()} and {@link #getCardOrdinal()}.
+     * @param in a channel providing UTF-8 encoded vCard data
+     * @param offset the byte offset from which to start parsing
+     * @param ordinal the ordinal of the first card read from the specified offset
+     * @throws IOException where the channel cannot be positioned at the specified offset
+     */
+    public VCardBuilder(final SeekableByteChannel in, final long offset, final long ordinal) throws IOException {
+        this(in, offset, ordinal, new GroupRegistry(), new PropertyFactoryRegistry(),
+                new ParameterFactoryRegistry());
+    }
+
+    /**
+     * Creates a builder that resumes parsing from a checkpoint previously obtained through
+     * {@link #getOffset()} and {@link #getCardOrdinal()}.
+     * @param in a channel providing UTF-8 encoded vCard data
+     * @param offset the byte offset from which to start parsing
+     * @param ordinal the ordinal of the first card read from the specified offset
+     * @param registry a group registry used to construct vCard objects
+     * @param propertyFactoryRegistry a property factory registry used to construct
+     * vCard objects
+     * @param parameterFactoryRegistry a parameter factory registry used to construct
+     * vCard objects
+     * @throws IOException where the channel cannot be positioned at the specified offset
+     */
+    public VCardBuilder(final SeekableByteChannel in, final long offset, final long ordinal,
+            final GroupRegistry registry, final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) throws IOException {
+        this(new Utf8ContentLineReader(in.position(offset), offset), registry, propertyFactoryRegistry,
+                parameterFactoryRegistry);
+        this.ordinal = ordinal;
+    }
+
+    private VCardBuilder(final ContentLineReader reader, final GroupRegistry registry,
+            final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
+        this.reader = reader;
         this.groupRegistry = registry;
         this.propertyFactoryRegistry = propertyFactoryRegistry;
         this.parameterFactoryRegistry = parameterFactoryRegistry;
         this.relaxedParsing = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING);
     }
 
+    /**
+     * Restricts the properties that are built or reported to a handler. Content lines for
+     * any other property are skipped as soon as their name is read, so their parameters and
+     * values are never sliced, unescaped or decoded.
+     * @param ids identifiers of the standard properties to retain
+     * @param extendedNames names of any non-standard properties to retain
+     */
+    public void setProjection(final Set<Property.Id> ids, final Set<String> extendedNames) {
+        final List<String> names = new ArrayList<String>();
+        for (final Property.Id id : ids) {
+            names.add(id.getPropertyName().toUpperCase());
+        }
+        for (final String name : extendedNames) {
+            names.add(name.toUpperCase());
+        }
+        projection = names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * Removes any restriction on the properties that are built or reported to a handler.
+     */
+    public void clearProjection() {
+        projection = null;
+    }
+
+    /**
+     * Specifies whether properties are constructed lazily. In lazy mode only the group and
+     * identifier of each property are resolved as it is read, with the content line retained
+     * and passed to the property factory only when the property is first accessed through
+     * the {@link VCard}. Properties that are never accessed are written out verbatim, so
+     * cards that are only filtered and passed through avoid date parsing, URI construction
+     * and Base64 decoding entirely.
+     *
+     * <p>As construction is deferred, factory errors for a lazy property are raised as an
+     * {@link UncheckedParserException} on first access rather than from the builder.</p>
+     * @param lazy true to construct properties on first access
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
     /**
      * @return a new vCard object instance
      * @throws IOException where a problem occurs reading vCard data
@@ -154,46 +326,246 @@ public final class VCardBuilder {
         return Collections.unmodifiableList(cards);
     }
 
+    /**
+     * Builds all remaining cards, recovering from malformed cards rather than aborting. Each
+     * error is reported to the specified handler, after which the remainder of the failing
+     * card is skipped and parsing resumes from the next <code>BEGIN:VCARD</code> delimiter.
+     * A card that is not terminated before the next delimiter is also reported and skipped.
+     * @param handler a handler notified of each card that could not be built
+     * @return a list of the vCard object instances built successfully
+     * @throws IOException where a problem occurs reading vCard data
+     * @throws ParserException where rethrown by the handler to abort parsing
+     */
+    public List<VCard> buildAll(final VCardErrorHandler handler) throws IOException, ParserException {
+        final List<VCard> cards = new ArrayList<VCard>();
+
+        CharSequence line = null;
+        List<Property> properties = null;
+        boolean skipping = false;
+        int lineNo = 0;
+        int cardIndex = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (isBlank(line)) {
+                continue; // ignore blank lines
+            }
+            if (isDelimiter(line, VCARD_BEGIN, relaxedParsing)) {
+                if (properties != null) {
+                    handler.error(new ParserException("Missing " + VCARD_END, lineNo), cardIndex++);
+                }
+                properties = new ArrayList<Property>();
+                startCard();
+                skipping = false;
+            }
+            else if (skipping) {
+                continue;
+            }
+            else if (properties == null) {
+                handler.error(new ParserException("Expected " + VCARD_BEGIN, lineNo), cardIndex);
+                skipping = true;
+            }
+            else if (isDelimiter(line, VCARD_END, relaxedParsing)) {
+                cards.add(new VCard(properties));
+                properties = null;
+                cardIndex++;
+            }
+            else {
+                ParserException error = null;
+                try {
+                    final Property property = parseProperty(line, lineNo);
+                    if (property != null) {
+                        properties.add(property);
+                    }
+                }
+                catch (URISyntaxException e) {
+                    error = new ParserException("Error parsing line", lineNo, e);
+                }
+                catch (ParseException e) {
+                    error = new ParserException("Error parsing line", lineNo, e);
+                }
+                catch (IllegalArgumentException e) {
+                    error = new ParserException("Error parsing line", lineNo, e);
+                }
+                if (error != null) {
+                    handler.error(error, cardIndex++);
+                    properties = null;
+                    skipping = true;
+                }
+            }
+        }
+
+        // as with buildAll(), accept a final card that is not terminated..
+        if (properties != null) {
+            cards.add(new VCard(properties));
+        }
+        return Collections.unmodifiableList(cards);
+    }
+
+    /**
+     * Returns an iterator that parses vCard objects lazily from the underlying reader. Each
+     * call to {@link Iterator#next()} parses at most one card, so only the current card is
+     * retained. Read and parse failures are rethrown as {@link UncheckedIOException} and
+     * {@link UncheckedParserException} respectively.
+     * @return an iterator over the remaining vCard objects
+     * @throws IllegalStateException if an iterator has already been obtained from this builder
+     */
+    @Override
+    public Iterator<VCard> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Iterator already obtained");
+        }
+        iterated = true;
+        return new CardIterator();
+    }
+
+    /**
+     * Returns a sequential stream of vCard objects parsed lazily from the underlying reader.
+     * Closing the stream closes the builder, so it is best used in a try-with-resources block.
+     * @return a stream of the remaining vCard objects
+     * @throws IllegalStateException if an iterator has already been obtained from this builder
+     * @see #iterator()
+     */
+    public Stream<VCard> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            close();
+                        }
+                        catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Parses all remaining vCard data, reporting each card and property to the specified
+     * handler rather than constructing vCard objects. Cards are delimited and validated as
+     * for {@link #buildAll()}, however property names and values are passed through as-is
+     * without consulting the factory registries.
+     * @param handler a handler notified of parse events
+     * @throws IOException where a problem occurs reading vCard data
+     * @throws ParserException where vCard data is not correctly delimited
+     */
+    public void parse(final VCardHandler handler) throws IOException, ParserException {
+        CharSequence line = null;
+        int lineNo = 0;
+        boolean inCard = false;
+
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (isBlank(line)) {
+                continue; // ignore blank lines
+            }
+            if (!inCard) {
+                if (!isDelimiter(line, VCARD_BEGIN, relaxedParsing)) {
+                    throw new ParserException(lineNo);
+                }
+                startCard();
+                handler.startCard();
+                inCard = true;
+            }
+            else if (isDelimiter(line, VCARD_END, relaxedParsing)) {
+                handler.endCard();
+                inCard = false;
+            }
+            else if (tokenizeProjected(line)) {
+                final String group = tokenizer.hasGroup() ? tokenizer.getGroup() : null;
+                handler.property(group, tokenizer.getName().toUpperCase(), parameters, tokenizer.getValue());
+            }
+        }
+
+        if (inCard) {
+            handler.endCard();
+        }
+    }
+
+    /**
+     * Returns the ordinal of the card most recently read, counted from zero at the start of
+     * the input or from the ordinal specified on construction. Where a builder is consumed
+     * through {@link #iterator()} this is the card most recently returned by
+     * {@link Iterator#next()}, provided {@link Iterator#hasNext()} has not since been invoked.
+     * @return the ordinal of the most recent card, or -1 if no card has been read
+     */
+    public long getCardOrdinal() {
+        return cardOrdinal;
+    }
+
+    /**
+     * @return the byte offset of the <code>BEGIN:VCARD</code> delimiter of the card most
+     * recently read, or -1 if no card has been read or the builder was constructed from
+     * a {@link Reader}
+     * @see #getCardOrdinal()
+     */
+    public long getCardOffset() {
+        return cardOffset;
+    }
+
+    /**
+     * Returns the byte offset immediately following all data consumed so far. Once a card
+     * has been read this is the offset of the line following its <code>END:VCARD</code>
+     * delimiter, and together with the ordinal following {@link #getCardOrdinal()} forms a
+     * checkpoint from which parsing may later be resumed.
+     * @return the current byte offset, or -1 if the builder was constructed from a
+     * {@link Reader}
+     * @see #VCardBuilder(SeekableByteChannel, long, long)
+     */
+    public long getOffset() {
+        return reader.getOffset();
+    }
+
+    /**
+     * Records the position of a card on reading its begin delimiter.
+     */
+    private void startCard() {
+        cardOffset = reader.getLineOffset();
+        cardOrdinal = ordinal++;
+    }
+
+    /**
+     * Closes the underlying reader.
+     * @throws IOException where a problem occurs closing the reader
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
     /**
      * @return
      * @throws IOException
      * @throws ParserException
      */
     private VCard build(final boolean single) throws IOException, ParserException {
-        VCard vcard = null;
+        List<Property> properties = null;
 
-        String line = null;
-        String lastLine = null;
+        CharSequence line = null;
+        boolean lastLineEnd = false;
         int nonBlankLineNo = 0;
         int totalLineNo = 0;
         boolean end = false;
 
-        Pattern beginPattern = null;
-        Pattern endPattern = null;
-        if (relaxedParsing) {
-        	beginPattern = RELAXED_VCARD_BEGIN;
-        	endPattern = RELAXED_VCARD_END;
-        } else {
-        	beginPattern = VCARD_BEGIN;
-        	endPattern = VCARD_END;
-        }
-
         while ((single || !end) && ((line = reader.readLine()) != null)) {
         	totalLineNo++;
-        	if (line.trim().length() == 0) {
+        	if (isBlank(line)) {
         		continue; // ignore blank lines
         	}
             nonBlankLineNo++;
             if (nonBlankLineNo == 1) {
-                if (!beginPattern.matcher(line).matches()) {
+                if (!isDelimiter(line, VCARD_BEGIN, relaxedParsing)) {
                     throw new ParserException(nonBlankLineNo);
                 }
-                vcard = new VCard();
+                properties = new ArrayList<Property>();
+                startCard();
             }
-            else if (!endPattern.matcher(line).matches()) {
+            else if (!isDelimiter(line, VCARD_END, relaxedParsing)) {
+                lastLineEnd = false;
                 Property property;
                 try {
-                    property = parseProperty(line);
+                    property = parseProperty(line, totalLineNo);
                 }
                 catch (URISyntaxException e) {
                     throw new ParserException("Error parsing line", totalLineNo, e);
@@ -205,108 +577,257 @@ public final class VCardBuilder {
                     throw new ParserException("Error parsing line", totalLineNo, e);
                 }
                 if (property != null) {
-                	vcard.getProperties().add(property);
+                	properties.add(property);
                 }
-            } else if (endPattern.matcher(line).matches()) {
+            } else {
+                lastLineEnd = true;
             	end = true;
             }
-            if (line.trim().length() > 0) {
-                lastLine = line;
-            }
         }
 
-        if (single && ((nonBlankLineNo <= 1) || !endPattern.matcher(lastLine).matches())) {
+        if (single && ((nonBlankLineNo <= 1) || !lastLineEnd)) {
             throw new ParserException(totalLineNo);
         }
 
-        return vcard;
+        if (properties == null) {
+            return null;
+        }
+        return new VCard(properties);
     }
 
     /**
-     * @param line
-     * @return
-     * @throws ParseException
-     * @throws URISyntaxException
-     * @throws IllegalArgumentException
+     * @param line a content line
+     * @param delimiter a case-insensitive begin or end delimiter
+     * @param relaxedParsing whether trailing whitespace is permitted
+     * @return true if the line matches the delimiter, allowing for trailing whitespace
+     * when relaxed parsing is enabled
      */
-    private Property parseProperty(final String line) throws URISyntaxException, ParseException {
-        Matcher matcher = PROPERTY_NAME_PATTERN.matcher(line);
-        if (matcher.find()) {
-            PropertyFactory<?> factory = null;
-            Group group = null;
-            boolean xprop = false;
-
-            String propertyName = matcher.group();
-            if (propertyName.indexOf('.') >= 0) {
-                final String[] groupProperty = propertyName.split("\\.");
-                group = groupRegistry.getGroup(groupProperty[0]);
-                if (group == null) {
-                    group = new Group(groupProperty[0]);
-                }
-                propertyName = groupProperty[1].toUpperCase();
-                factory = propertyFactoryRegistry.getFactory(propertyName);
+    static boolean isDelimiter(final CharSequence line, final String delimiter, final boolean relaxedParsing) {
+        if (line.length() < delimiter.length()) {
+            return false;
+        }
+        for (int i = 0; i < delimiter.length(); i++) {
+            final char c = line.charAt(i);
+            if (c != delimiter.charAt(i) && (c < 'a' || c > 'z' || c - ('a' - 'A') != delimiter.charAt(i))) {
+                return false;
             }
-            else {
-                propertyName = propertyName.toUpperCase();
-                factory = propertyFactoryRegistry.getFactory(propertyName);
+        }
+        for (int i = delimiter.length(); i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (!relaxedParsing || (c != ' ' && c != '\t' && c != 0x0B && c != '\f'
+                    && c != '\r' && c != '\n')) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            if (factory == null) {
-                /* Create an x-property to hold it */
-                factory = Xproperty.FACTORY;
-                xprop = true;
+    /**
+     * @param line a content line
+     * @return true if the line is empty or contains only whitespace
+     */
+    static boolean isBlank(final CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
             }
+        }
+        return true;
+    }
 
-            matcher = PROPERTY_VALUE_PATTERN.matcher(line);
-            if (matcher.find()) {
-                final String propertyValue = matcher.group(0);
-                final List<Parameter> params = parseParameters(line);
-                if (xprop) {
-                    Xproperty.ExtendedFactory xfactory =
-                            (Xproperty.ExtendedFactory) factory;
-                    if (group != null) {
-                        return xfactory.createProperty(group, propertyName,
-                                params, propertyValue);
-                    }
-                    else {
-                        return xfactory.createProperty(propertyName, params,
-                                propertyValue);
-                    }
-                } else if (group != null) {
-                    return factory.createProperty(group, params, propertyValue);
+    /**
+     * Pulls one card at a time from {@link #build(boolean)}, holding a single look-ahead card.
+     */
+    private class CardIterator implements Iterator<VCard> {
+
+        private VCard next;
+
+        private boolean done;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = build(false);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-                else {
-                    return factory.createProperty(params, propertyValue);
+                catch (ParserException e) {
+                    throw new UncheckedParserException(e);
                 }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public VCard next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            final VCard card = next;
+            next = null;
+            return card;
         }
-        return null;
     }
 
     /**
-     * @param line
-     * @return
+     * @param line a content line
+     * @return true if the line is a property retained by the current projection, and has
+     * been fully tokenized
+     */
+    private boolean tokenizeProjected(final CharSequence line) {
+        if (!tokenizer.tokenizeName(line)) {
+            return false;
+        }
+        if (projection != null) {
+            boolean retained = false;
+            for (int i = 0; i < projection.length && !retained; i++) {
+                retained = tokenizer.isName(projection[i]);
+            }
+            if (!retained) {
+                return false;
+            }
+        }
+        return tokenizer.tokenizeParameters();
+    }
+
+    /**
+     * Exposes the parameters of the most recently tokenized line to a {@link VCardHandler}.
+     */
+    private class TokenizerParameters implements VCardHandler.Parameters {
+
+        @Override
+        public int size() {
+            return tokenizer.getParameterCount();
+        }
+
+        @Override
+        public String getName(final int index) {
+            return tokenizer.getParameterName(index);
+        }
+
+        @Override
+        public String getValue(final int index) {
+            return tokenizer.getParameterValue(index);
+        }
+    }
+
+    /**
+     * @param line a content line
+     * @param lineNo the line number reported should a lazy property fail to resolve
+     * @return a new property, or null if the line is not a property retained by the
+     * current projection
+     * @throws ParseException
+     * @throws URISyntaxException
+     * @throws IllegalArgumentException
+     */
+    private Property parseProperty(final CharSequence line, final int lineNo) throws URISyntaxException,
+            ParseException {
+        if (!tokenizeProjected(line)) {
+            return null;
+        }
+        if (!lazy) {
+            return createProperty(tokenizer, groupRegistry, propertyFactoryRegistry, parameterFactoryRegistry);
+        }
+
+        final Group group = parseGroup(tokenizer, groupRegistry);
+        final String propertyName = tokenizer.getName().toUpperCase();
+        Property.Id id = null;
+        if (propertyFactoryRegistry.getFactory(propertyName) != null) {
+            try {
+                id = Property.Id.valueOf(propertyName);
+            }
+            catch (final IllegalArgumentException ignored) {
+            }
+        }
+        if (id == null) {
+            return new LazyProperty(group, propertyName, line.toString(), lineNo, groupRegistry,
+                    propertyFactoryRegistry, parameterFactoryRegistry);
+        }
+        return new LazyProperty(group, id, line.toString(), lineNo, groupRegistry,
+                propertyFactoryRegistry, parameterFactoryRegistry);
+    }
+
+    /**
+     * @param tokenizer a tokenizer positioned on a content line
+     * @param groupRegistry a group registry used to resolve the property group
+     * @return the group of the tokenized content line, or null if it is not grouped
+     */
+    private static Group parseGroup(final ContentLineTokenizer tokenizer, final GroupRegistry groupRegistry) {
+        if (!tokenizer.hasGroup()) {
+            return null;
+        }
+        final String groupName = tokenizer.getGroup();
+        final Group group = groupRegistry.getGroup(groupName);
+        if (group == null) {
+            return new Group(groupName);
+        }
+        return group;
+    }
+
+    /**
+     * Constructs a property from a fully tokenized content line.
+     * @param tokenizer a tokenizer positioned on a content line
+     * @param groupRegistry a group registry used to resolve the property group
+     * @param propertyFactoryRegistry a property factory registry used to construct the property
+     * @param parameterFactoryRegistry a parameter factory registry used to construct parameters
+     * @return a new property instance
+     * @throws ParseException
+     * @throws URISyntaxException
+     * @throws IllegalArgumentException
      */
-    private List<Parameter> parseParameters(final String line) {
+    static Property createProperty(final ContentLineTokenizer tokenizer, final GroupRegistry groupRegistry,
+            final PropertyFactoryRegistry propertyFactoryRegistry,
+            final ParameterFactoryRegistry parameterFactoryRegistry) throws URISyntaxException, ParseException {
+
+        PropertyFactory<?> factory = null;
+        boolean xprop = false;
+
+        final Group group = parseGroup(tokenizer, groupRegistry);
+        final String propertyName = tokenizer.getName().toUpperCase();
+        factory = propertyFactoryRegistry.getFactory(propertyName);
+
+        if (factory == null) {
+            /* Create an x-property to hold it */
+            factory = Xproperty.FACTORY;
+            xprop = true;
+        }
+
+        final String propertyValue = tokenizer.getValue();
+        final List<Parameter> params = parseParameters(tokenizer, parameterFactoryRegistry);
+        if (xprop) {
+            Xproperty.ExtendedFactory xfactory =
+                    (Xproperty.ExtendedFactory) factory;
+            if (group != null) {
+                return xfactory.createProperty(group, propertyName,
+                        params, propertyValue);
+            }
+            else {
+                return xfactory.createProperty(propertyName, params,
+                        propertyValue);
+            }
+        } else if (group != null) {
+            return factory.createProperty(group, params, propertyValue);
+        }
+        else {
+            return factory.createProperty(params, propertyValue);
+        }
+    }
+
+    /**
+     * @return the parameters of the most recently tokenized line
+     */
+    private static List<Parameter> parseParameters(final ContentLineTokenizer tokenizer,
+            final ParameterFactoryRegistry parameterFactoryRegistry) {
         final List<Parameter> parameters = new ArrayList<Parameter>();
-        final Matcher matcher = PARAMETERS_PATTERN.matcher(line);
-        if (matcher.find()) {
-            final String[] params = matcher.group().split(";");
-            for (String param : params) {
-                final String[] vals = param.split("=");
-                final ParameterFactory<? extends Parameter> factory = parameterFactoryRegistry.getFactory(
-                        vals[0].toUpperCase());
-
-                if (factory == null) {
-                	continue;
-                }
+        for (int i = 0; i < tokenizer.getParameterCount(); i++) {
+            final Parameter parameter = parameterFactoryRegistry.createParameter(
+                    tokenizer.getParameterName(i).toUpperCase(), tokenizer.getParameterValue(i));
 
-                if (vals.length > 1) {
-                    parameters.add(factory.createParameter(vals[1]));
-                }
-                else {
-                    parameters.add(factory.createParameter(null));
-                }
+            if (parameter != null) {
+                parameters.add(parameter);
             }
         }
         return parameters;
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import net.fortuna.ical4j.util.Strings;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Writes vCard 4.0 properties for a vCard 3.0 consumer. Properties that have no vCard 3.0
+ * equivalent, or that carry parameters introduced in vCard 4.0, are written as non-standard
+ * properties with the name prefixed by {@link VCard#v4AsXpropPrefix}. All other properties
+ * are written unchanged.
+ *
+ * <p>The rules are held as sets of property and parameter identifiers, fixed on construction,
+ * so that an instance may be shared between threads and reused for every card written.</p>
+ *
+ * <p>From RFC 6350, Appendix A:</p>
+ * <pre>
+ * A.3. New Properties and Parameters
+ *    o  The KIND, GENDER, LANG, ANNIVERSARY, XML, and CLIENTPIDMAP
+ *       properties have been added.
+ *
+ *    o  The ALTID and PID parameters have been added.
+ * </pre>
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public final class VCardDowngrader {
+
+    /**
+     * Downgrades the properties and parameters added in vCard 4.0.
+     */
+    public static final VCardDowngrader DEFAULT = new VCardDowngrader(
+            EnumSet.of(Property.Id.KIND, Property.Id.GENDER, Property.Id.LANG, Property.Id.ANNIVERSARY,
+                    Property.Id.XML, Property.Id.CLIENTPIDMAP),
+            EnumSet.of(Parameter.Id.ALTID, Parameter.Id.PID));
+
+    private final Set<Property.Id> unsupportedProperties;
+
+    private final Set<Parameter.Id> unsupportedParameters;
+
+    /**
+     * @param unsupportedProperties identifiers of properties to write as non-standard properties
+     * @param unsupportedParameters identifiers of parameters that cause a property to be written
+     * as a non-standard property
+     */
+    public VCardDowngrader(final Set<Property.Id> unsupportedProperties,
+            final Set<Parameter.Id> unsupportedParameters) {
+        this.unsupportedProperties = EnumSet.noneOf(Property.Id.class);
+        this.unsupportedProperties.addAll(unsupportedProperties);
+        // non-standard properties are already acceptable..
+        this.unsupportedProperties.remove(Property.Id.EXTENDED);
+        this.unsupportedParameters = EnumSet.noneOf(Parameter.Id.class);
+        this.unsupportedParameters.addAll(unsupportedParameters);
+    }
+
+    /**
+     * @param property a property
+     * @return true if the property may be written unchanged to a vCard 3.0 consumer
+     */
+    public boolean isSupported(final Property property) {
+        if (unsupportedProperties.contains(property.getId())) {
+            return false;
+        }
+        if (Property.Id.EXTENDED.equals(property.getId()) || unsupportedParameters.isEmpty()) {
+            return true;
+        }
+        for (Parameter parameter : property.getParameters()) {
+            if (unsupportedParameters.contains(parameter.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param property a property that has not yet been constructed
+     * @return true if the content line may be written unchanged to a vCard 3.0 consumer
+     */
+    boolean isSupported(final LazyProperty property) {
+        if (unsupportedProperties.contains(property.getId())) {
+            return false;
+        }
+        return Property.Id.EXTENDED.equals(property.getId()) || unsupportedParameters.isEmpty()
+                || !property.hasParameter(unsupportedParameters);
+    }
+
+    /**
+     * Writes the specified property, as a non-standard property where it is not supported.
+     * @param property a property
+     * @param out the output to write to
+     * @throws IOException where a problem occurs writing to the output
+     */
+    void write(final Property property, final Appendable out) throws IOException {
+        if (isSupported(property)) {
+            property.write(out);
+            return;
+        }
+
+        if (property.getGroup() != null) {
+            out.append(property.getGroup().toString());
+            out.append('.');
+        }
+        out.append(VCard.v4AsXpropPrefix);
+        out.append(property.getId().getPropertyName());
+        for (Parameter param : property.getParameters()) {
+            out.append(';');
+            param.write(out);
+        }
+        out.append(':');
+        property.writeValue(out);
+        out.append(Strings.LINE_SEPARATOR);
+    }
+}
@@ -37,7 +37,7 @@ import org.apache.commons.io.filefilter.NotFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 
 /**
- * A file filter for vCard files.
+ * A file filter for vCard files, including gzip compressed vCard files.
  * 
  * $Id$
  * 
@@ -59,7 +59,8 @@ public final class VCardFileFilter extends AndFileFilter {
      * 
      */
     private VCardFileFilter() {
-        super(new NotFileFilter(DirectoryFileFilter.INSTANCE), new SuffixFileFilter(".vcf"));
+        super(new NotFileFilter(DirectoryFileFilter.INSTANCE), new SuffixFileFilter(new String[] {".vcf",
+                ".vcf" + GzipCodec.INSTANCE.getSuffix()}));
     }
 
 }
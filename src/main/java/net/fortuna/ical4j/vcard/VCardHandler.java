@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+/**
+ * Receives parse events for vCard data, as an alternative to building {@link VCard} objects.
+ * Events are reported by {@link VCardBuilder#parse(VCardHandler)} directly from the content
+ * line tokenizer, so no properties, parameters or cards are constructed.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public interface VCardHandler {
+
+    /**
+     * Invoked on a <code>BEGIN:VCARD</code> delimiter.
+     */
+    void startCard();
+
+    /**
+     * Invoked for each content line of the current card.
+     * @param group the property group, or null if the property is not grouped
+     * @param name the upper-case property name
+     * @param parameters the property parameters, valid only for the duration of this call
+     * @param value the raw (still escaped) property value
+     */
+    void property(String group, String name, Parameters parameters, String value);
+
+    /**
+     * Invoked on an <code>END:VCARD</code> delimiter, or at the end of the input if the
+     * current card is not terminated.
+     */
+    void endCard();
+
+    /**
+     * A read-only view of the parameters of a content line. Parameter text is only
+     * converted to strings as it is requested.
+     */
+    interface Parameters {
+
+        /**
+         * @return the number of parameters
+         */
+        int size();
+
+        /**
+         * @param index a parameter index
+         * @return the parameter name, as it appears in the content line
+         */
+        String getName(int index);
+
+        /**
+         * @param index a parameter index
+         * @return the raw parameter value including any quotes, or null if the parameter
+         * has no value
+         */
+        String getValue(int index);
+    }
+}
@@ -34,14 +34,26 @@ package net.fortuna.ical4j.vcard;
 import net.fortuna.ical4j.data.AbstractOutputter;
 import net.fortuna.ical4j.data.FoldingWriter;
 import net.fortuna.ical4j.validate.ValidationException;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Generates vCard object data streams.
+ *
+ * <p>Each card is written property by property rather than first being built as a single
+ * string. Output to an {@link OutputStream} or {@link WritableByteChannel} is encoded
+ * directly to UTF-8 bytes, with the fold length measured in octets as required by
+ * RFC 6350 and no character encoding ever split across a fold. Output to a {@link Writer}
+ * is folded by character through a {@link FoldingWriter}. Output to streams and channels
+ * may also be encoded, such as by compression, through a {@link VCardCodec}.</p>
  * 
  * $Id$
  *
@@ -52,6 +64,18 @@ import java.io.Writer;
  */
 public class VCardOutputter extends AbstractOutputter {
 
+    private static final int BUFFER_SIZE = 8192;
+
+    private int flushInterval;
+
+    private VCardDowngrader downgrader = VCardDowngrader.DEFAULT;
+
+    private VCardCodec codec;
+
+    private boolean canonical;
+
+    private boolean reuseBuffers;
+
     /**
      * 
      */
@@ -75,14 +99,351 @@ public class VCardOutputter extends AbstractOutputter {
     }
 
     /**
-     * Outputs an iCalender string to the specified output stream.
+     * @return the number of cards written between each flush of a batch, or zero if a
+     * batch is only flushed once complete
+     */
+    public final int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @return the rules used to write vCards that are not version 4.0
+     */
+    public final VCardDowngrader getDowngrader() {
+        return downgrader;
+    }
+
+    /**
+     * @param downgrader the rules used to write vCards that are not version 4.0
+     */
+    public final void setDowngrader(final VCardDowngrader downgrader) {
+        if (downgrader == null) {
+            throw new IllegalArgumentException("Downgrader must not be null");
+        }
+        this.downgrader = downgrader;
+    }
+
+    /**
+     * @return true if vCards are output in canonical form
+     */
+    public final boolean isCanonical() {
+        return canonical;
+    }
+
+    /**
+     * Specifies whether vCards are output in a canonical form, in which properties and
+     * parameters are sorted and the case of names and case-insensitive values normalised.
+     * vCards that differ only in such respects are then output identically, such as for
+     * comparison or hashing. Canonical output is never downgraded for earlier versions.
+     * @param canonical true to output vCards in canonical form
+     * @see #digest(VCard, MessageDigest)
+     */
+    public final void setCanonical(final boolean canonical) {
+        this.canonical = canonical;
+    }
+
+    /**
+     * @return true if encoding buffers are reused between calls on the same thread
+     */
+    public final boolean isReuseBuffers() {
+        return reuseBuffers;
+    }
+
+    /**
+     * Specifies whether the buffer used to encode output to streams and channels is retained
+     * by each calling thread and reused by subsequent calls, rather than allocated for each
+     * call. This suits servers repeatedly writing cards from a fixed pool of threads, at the
+     * cost of retaining one buffer per thread.
+     * @param reuseBuffers true to reuse encoding buffers between calls on the same thread
+     */
+    public final void setReuseBuffers(final boolean reuseBuffers) {
+        this.reuseBuffers = reuseBuffers;
+    }
+
+    /**
+     * @return the codec used to encode output streams and channels, or null if output is
+     * not encoded
+     */
+    public final VCardCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Specifies a codec, such as {@link GzipCodec}, used to encode all output to streams and
+     * channels so that an archive may be written in a single pass. Output to a {@link Writer}
+     * is never encoded.
+     * @param codec the codec used to encode output, or null to output unencoded data
+     */
+    public final void setCodec(final VCardCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * @param flushInterval the number of cards to write between each flush of a batch, or
+     * zero to flush only once the batch is complete
+     */
+    public final void setFlushInterval(final int flushInterval) {
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException("Flush interval must not be negative: " + flushInterval);
+        }
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Outputs a batch of vCard objects to the specified output stream. A single encoding
+     * buffer and folding state are used for the entire batch, which is flushed according to
+     * the configured flush interval and once complete. Unlike the single card methods the
+     * output stream is left open.
+     * @param cards the vCard objects to output
+     * @param out an output stream to write the vCard strings to
+     * @throws IOException thrown when unable to write to output stream
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public final void output(final Iterable<VCard> cards, final OutputStream out)
+            throws IOException, ValidationException {
+        output(cards.iterator(), out);
+    }
+
+    /**
+     * Outputs a stream of vCard objects to the specified output stream, as for
+     * {@link #output(Iterable, OutputStream)}. Cards are written as they are consumed from
+     * the stream, which is not closed.
+     * @param cards the vCard objects to output
+     * @param out an output stream to write the vCard strings to
+     * @throws IOException thrown when unable to write to output stream
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public final void output(final Stream<VCard> cards, final OutputStream out)
+            throws IOException, ValidationException {
+        output(cards.iterator(), out);
+    }
+
+    /**
+     * Outputs a batch of vCard objects to the specified channel, as for
+     * {@link #output(Iterable, OutputStream)}. The channel is left open.
+     * @param cards the vCard objects to output
+     * @param out a channel to write the vCard strings to
+     * @throws IOException thrown when unable to write to the channel
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public final void output(final Iterable<VCard> cards, final WritableByteChannel out)
+            throws IOException, ValidationException {
+        output(cards.iterator(), out);
+    }
+
+    /**
+     * Outputs a stream of vCard objects to the specified channel, as for
+     * {@link #output(Stream, OutputStream)}. The channel is left open.
+     * @param cards the vCard objects to output
+     * @param out a channel to write the vCard strings to
+     * @throws IOException thrown when unable to write to the channel
+     * @throws ValidationException where a vCard is not valid. Any preceding cards will
+     * have been written
+     */
+    public final void output(final Stream<VCard> cards, final WritableByteChannel out)
+            throws IOException, ValidationException {
+        output(cards.iterator(), out);
+    }
+
+    private void output(final Iterator<VCard> cards, final WritableByteChannel out)
+            throws IOException, ValidationException {
+        if (codec != null) {
+            output(cards, Channels.newOutputStream(out));
+        }
+        else {
+            output(cards, open(null, out, foldLength));
+        }
+    }
+
+    private void output(final Iterator<VCard> cards, final OutputStream out)
+            throws IOException, ValidationException {
+        if (codec == null) {
+            output(cards, open(out, null, foldLength));
+            return;
+        }
+        // closing the encoded stream completes it, while leaving the output stream open..
+        final OutputStream encoded = codec.encode(new CloseShieldOutputStream(out));
+        try {
+            output(cards, open(encoded, null, foldLength));
+        }
+        finally {
+            encoded.close();
+            out.flush();
+        }
+    }
+
+    private void output(final Iterator<VCard> cards, final Utf8FoldingOutput writer)
+            throws IOException, ValidationException {
+        try {
+            int count = 0;
+            while (cards.hasNext()) {
+                final VCard card = cards.next();
+                if (isValidating()) {
+                    card.validate();
+                }
+                write(card, writer);
+                if (flushInterval > 0 && ++count == flushInterval) {
+                    writer.flush();
+                    count = 0;
+                }
+            }
+        }
+        finally {
+            finish(writer);
+        }
+    }
+
+    /**
+     * Outputs an iCalender string to the specified output stream, which is closed once
+     * written. The card is validated before anything is written, such that the output
+     * stream is left untouched and open where the card is not valid.
      * @param card a vCard object to output as a string
      * @param out an output stream the output stream to write the vCard string to
      * @throws IOException thrown when unable to write to output stream
      * @throws ValidationException where the specified vCard is not valid
      */
     public final void output(final VCard card, final OutputStream out) throws IOException, ValidationException {
-        output(card, new OutputStreamWriter(out, DEFAULT_CHARSET));
+        if (isValidating()) {
+            card.validate();
+        }
+
+        try {
+            if (codec != null) {
+                // closing the encoded stream completes it..
+                final OutputStream encoded = codec.encode(out);
+                try {
+                    output(card, open(encoded, null, foldLength));
+                }
+                finally {
+                    encoded.close();
+                }
+            }
+            else {
+                output(card, open(out, null, foldLength));
+            }
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Outputs an iCalender string to the specified channel. Unlike the output stream
+     * variant the channel is left open.
+     * @param card a vCard object to output as a string
+     * @param out a channel to write the vCard string to
+     * @throws IOException thrown when unable to write to the channel
+     * @throws ValidationException where the specified vCard is not valid
+     */
+    public final void output(final VCard card, final WritableByteChannel out) throws IOException,
+            ValidationException {
+        if (codec != null) {
+            // closing the stream completes the encoded output, while leaving the channel open..
+            output(card, new CloseShieldOutputStream(Channels.newOutputStream(out)));
+            return;
+        }
+        if (isValidating()) {
+            card.validate();
+        }
+        output(card, open(null, out, foldLength));
+    }
+
+    /**
+     * Writes a card that has already been validated where required.
+     */
+    private void output(final VCard card, final Utf8FoldingOutput writer) throws IOException {
+        try {
+            write(card, writer);
+        }
+        finally {
+            finish(writer);
+        }
+    }
+
+    /**
+     * @return an encoder for the specified output stream using the configured fold length,
+     * which should be completed with {@link #finish(Utf8FoldingOutput)}
+     */
+    Utf8FoldingOutput open(final OutputStream out) {
+        return open(out, null, foldLength);
+    }
+
+    /**
+     * @return an encoder for either the specified output stream or channel, which should be
+     * completed with {@link #finish(Utf8FoldingOutput)}
+     */
+    Utf8FoldingOutput open(final OutputStream out, final WritableByteChannel channel,
+            final int foldLength) {
+        if (reuseBuffers) {
+            return Utf8FoldingOutput.acquire(out, channel, BUFFER_SIZE, foldLength);
+        }
+        else if (out != null) {
+            return new Utf8FoldingOutput(out, BUFFER_SIZE, foldLength);
+        }
+        return new Utf8FoldingOutput(channel, BUFFER_SIZE, foldLength);
+    }
+
+    void finish(final Utf8FoldingOutput writer) throws IOException {
+        try {
+            writer.flush();
+        }
+        finally {
+            if (reuseBuffers) {
+                writer.release();
+            }
+        }
+    }
+
+    /**
+     * Updates the specified digest with the canonical form of a vCard object, as written when
+     * {@link #setCanonical(boolean) canonical} output is enabled but without folding. The
+     * canonical form is encoded to the digest without validation, such that the result is
+     * suitable for use as an entity tag. Property values are encoded directly to the digest,
+     * except where they must be compared to order properties with identical names and
+     * parameters. Lazily parsed properties are resolved for encoding only, such that the vCard
+     * is not modified.
+     * @param card a vCard object
+     * @param digest the digest to update
+     * @return the completed digest of the canonical form
+     */
+    public final byte[] digest(final VCard card, final MessageDigest digest) {
+        final OutputStream out = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                digest.update((byte) b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                digest.update(b, off, len);
+            }
+        };
+        final Utf8FoldingOutput writer = open(out, null, Utf8FoldingOutput.NO_FOLDING);
+        try {
+            try {
+                CanonicalForm.write(card, writer);
+            }
+            finally {
+                finish(writer);
+            }
+        }
+        catch (IOException e) {
+            // not thrown by MessageDigest..
+            throw new IllegalStateException(e);
+        }
+        return digest.digest();
+    }
+
+    void write(final VCard card, final Appendable out) throws IOException {
+        if (canonical) {
+            CanonicalForm.write(card, out);
+        }
+        else {
+            card.write(out, downgrader);
+        }
     }
 
     /**
@@ -99,7 +460,7 @@ public class VCardOutputter extends AbstractOutputter {
 
         final FoldingWriter writer = new FoldingWriter(out, foldLength);
         try {
-            writer.write(card.toString());
+            write(card, writer);
         }
         finally {
             writer.close();
@@ -34,6 +34,8 @@ package net.fortuna.ical4j.vcard.parameter;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Objects;
+
 /**
  * CALSCALE parameter.
  * 
@@ -67,6 +69,22 @@ public final class Calscale extends Parameter {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(value, ((Calscale) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     private static class Factory implements ParameterFactory<Calscale> {
         public Calscale createParameter(final String value) {
             
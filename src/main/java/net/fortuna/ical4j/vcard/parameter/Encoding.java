@@ -34,6 +34,8 @@ package net.fortuna.ical4j.vcard.parameter;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Objects;
+
 /**
  * ENCODING parameter.
  * 
@@ -76,6 +78,22 @@ public final class Encoding extends Parameter {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(value, ((Encoding) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     private static class Factory implements ParameterFactory<Encoding> {
         public Encoding createParameter(final String value) {
             if (Encoding.B.getValue().equals(value)) {
@@ -35,6 +35,7 @@ import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
 import java.text.ParseException;
+import java.util.Objects;
 
 /**
  * FMTTYPE parameter.
@@ -82,6 +83,27 @@ public final class Fmttype extends Parameter {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        final Fmttype fmttype = (Fmttype) other;
+        return Objects.equals(value, fmttype.value) && Objects.equals(type, fmttype.type)
+                && Objects.equals(subtype, fmttype.subtype);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(value);
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + Objects.hashCode(subtype);
+        return result;
+    }
+
     /**
      * @return the type
      */
@@ -34,6 +34,8 @@ package net.fortuna.ical4j.vcard.parameter;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Objects;
+
 /**
  * GEO parameter.
  * 
@@ -67,6 +69,22 @@ public final class Geo extends Parameter {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(value, ((Geo) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     private static class Factory implements ParameterFactory<Geo> {
         public Geo createParameter(final String value) {
             
@@ -36,6 +36,7 @@ import net.fortuna.ical4j.vcard.ParameterFactory;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * LANGUAGE parameter.
@@ -99,6 +100,22 @@ public final class Language extends Parameter {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(locale, ((Language) other).locale);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(locale);
+    }
+
     private static class Factory implements ParameterFactory<Language> {
         public Language createParameter(final String value) {
             return new Language(new Locale(value));
@@ -34,6 +34,8 @@ package net.fortuna.ical4j.vcard.parameter;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Objects;
+
 /**
  * PID parameter.
  * 
@@ -86,6 +88,22 @@ public final class Pid extends Parameter {
         return pid.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(pid, ((Pid) other).pid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(pid);
+    }
+
     private static class Factory implements ParameterFactory<Pid> {
         public Pid createParameter(final String value) {
             return new Pid(Integer.valueOf(value));
@@ -35,6 +35,8 @@ import net.fortuna.ical4j.util.CompatibilityHints;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Objects;
+
 /**
  * PREF parameter.
  * 
@@ -97,6 +99,22 @@ public final class Pref extends Parameter {
         }
         return null;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Objects.equals(level, ((Pref) other).level);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(level);
+    }
     
     private static class Factory implements ParameterFactory<Pref> {
 
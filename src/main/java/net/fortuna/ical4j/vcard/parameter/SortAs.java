@@ -34,6 +34,9 @@ package net.fortuna.ical4j.vcard.parameter;
 import net.fortuna.ical4j.vcard.Parameter;
 import net.fortuna.ical4j.vcard.ParameterFactory;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * SORT-AS parameter.
  * 
@@ -48,9 +51,9 @@ public final class SortAs extends Parameter {
  
     public static final ParameterFactory<SortAs> FACTORY = new Factory();
     
-    private String value;
+    private final String value;
     
-    private String[] segments;
+    private final String[] segments;
     
     /**
      * Factory constructor.
@@ -71,10 +74,29 @@ public final class SortAs extends Parameter {
     }
 
     /**
-     * @return the segments
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        final SortAs sortAs = (SortAs) other;
+        return Objects.equals(value, sortAs.value) && Arrays.equals(segments, sortAs.segments);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(value);
+        result = 31 * result + Arrays.hashCode(segments);
+        return result;
+    }
+
+    /**
+     * @return a copy of the segments, as instances may be shared
      */
     public String[] getSegments() {
-        return segments;
+        return segments.clone();
     }
 
     private static class Factory implements ParameterFactory<SortAs> {
@@ -87,7 +87,7 @@ public final class Type extends Parameter {
      */
     public Type(String...types) {
         super(Id.TYPE);
-        this.types = types;
+        this.types = types.clone();
     }
     
     /**
@@ -97,16 +97,16 @@ public final class Type extends Parameter {
         super(Id.TYPE);
         final List<String> typeList = new ArrayList<String>();
         for (Type type : types) {
-            typeList.addAll(Arrays.asList(type.getTypes()));
+            typeList.addAll(Arrays.asList(type.types));
         }
         this.types = typeList.toArray(new String[typeList.size()]);
     }
     
     /**
-     * @return the types
+     * @return a copy of the types, as instances may be shared
      */
     public String[] getTypes() {
-        return types;
+        return types.clone();
     }
 
     /**
@@ -114,6 +114,9 @@ public final class Type extends Parameter {
      */
     @Override
     public String getValue() {
+        if (types.length == 1 && types[0] != null) {
+            return types[0];
+        }
         final StringBuilder b = new StringBuilder();
         for (int i = 0; i < types.length; i++) {
             b.append(types[i]);
@@ -124,6 +127,22 @@ public final class Type extends Parameter {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Parameter other) {
+        return Arrays.equals(types, ((Type) other).types);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Arrays.hashCode(types);
+    }
+
     private static class Factory implements ParameterFactory<Type> {
         public Type createParameter(final String value) {
             Type parameter = null;
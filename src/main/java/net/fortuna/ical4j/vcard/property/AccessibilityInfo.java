@@ -44,6 +44,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * ACCESSIBILITYINFO property.
@@ -126,6 +127,26 @@ public final class AccessibilityInfo extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final AccessibilityInfo accessibilityInfo = (AccessibilityInfo) other;
+        return Objects.equals(uri, accessibilityInfo.uri)
+                && Objects.equals(value, accessibilityInfo.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(value);
+        return result;
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
@@ -42,6 +42,7 @@ import net.fortuna.ical4j.vcard.parameter.Type;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.escape;
 import static net.fortuna.ical4j.util.Strings.unescape;
@@ -297,6 +298,35 @@ public final class Address extends Property {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Address address = (Address) other;
+        return Objects.equals(poBox, address.poBox) && Objects.equals(extended, address.extended)
+                && Objects.equals(street, address.street)
+                && Objects.equals(locality, address.locality)
+                && Objects.equals(region, address.region)
+                && Objects.equals(postcode, address.postcode)
+                && Objects.equals(country, address.country);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(poBox);
+        result = 31 * result + Objects.hashCode(extended);
+        result = 31 * result + Objects.hashCode(street);
+        result = 31 * result + Objects.hashCode(locality);
+        result = 31 * result + Objects.hashCode(region);
+        result = 31 * result + Objects.hashCode(postcode);
+        result = 31 * result + Objects.hashCode(country);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -43,6 +43,7 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.unescape;
 
@@ -127,6 +128,25 @@ public final class Agent extends Property implements Encodable {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Agent agent = (Agent) other;
+        return Objects.equals(uri, agent.uri) && Objects.equals(text, agent.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -45,6 +45,7 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.unescape;
 
@@ -139,6 +140,25 @@ public final class Anniversary extends Property implements Encodable {
         return Strings.valueOf(date);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Anniversary anniversary = (Anniversary) other;
+        return Objects.equals(date, anniversary.date) && Objects.equals(text, anniversary.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(date);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
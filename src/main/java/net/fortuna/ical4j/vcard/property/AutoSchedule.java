@@ -41,6 +41,7 @@ import net.fortuna.ical4j.vcard.parameter.Type;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * SCHEDADMININFO property.
@@ -88,6 +89,22 @@ public final class AutoSchedule extends Property {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(value, ((AutoSchedule) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
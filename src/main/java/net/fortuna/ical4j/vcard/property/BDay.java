@@ -45,6 +45,7 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.unescape;
 
@@ -143,6 +144,25 @@ public final class BDay extends Property implements Encodable {
         return Strings.valueOf(date);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final BDay bDay = (BDay) other;
+        return Objects.equals(date, bDay.date) && Objects.equals(text, bDay.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(date);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -41,6 +41,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.unescape;
 
@@ -88,6 +89,22 @@ public final class Birth extends Property implements Encodable {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(value, ((Birth) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     /**
      * {@inheritDoc}
      */
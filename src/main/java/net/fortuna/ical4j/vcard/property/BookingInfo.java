@@ -44,6 +44,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * BOOKINGINFO property.
@@ -125,6 +126,25 @@ public final class BookingInfo extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final BookingInfo bookingInfo = (BookingInfo) other;
+        return Objects.equals(uri, bookingInfo.uri) && Objects.equals(value, bookingInfo.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(value);
+        return result;
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
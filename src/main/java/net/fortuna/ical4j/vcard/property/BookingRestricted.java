@@ -95,6 +95,22 @@ public final class BookingRestricted extends Property {
         return Strings.valueOf(value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return value == ((BookingRestricted) other).value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Boolean.hashCode(value);
+    }
+
     @Override
     public void validate() throws ValidationException {
 	// TODO Auto-generated method stub
@@ -42,6 +42,7 @@ import net.fortuna.ical4j.vcard.parameter.Type;
 
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * BOOKINGWINDOWSTART property.
@@ -96,6 +97,22 @@ public final class BookingWindowStart extends Property {
         return Strings.valueOf(value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(value, ((BookingWindowStart) other).value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(value);
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
@@ -43,6 +43,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * CALADRURI property.
@@ -99,6 +100,22 @@ public final class CalAdrUri extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(uri, ((CalAdrUri) other).uri);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(uri);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -43,6 +43,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * CALURI property.
@@ -100,6 +101,22 @@ public final class CalUri extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(uri, ((CalUri) other).uri);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(uri);
+    }
+
     /**
      * {@inheritDoc}
      */
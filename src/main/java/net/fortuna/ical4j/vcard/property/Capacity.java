@@ -95,6 +95,22 @@ public final class Capacity extends Property {
         return Strings.valueOf(value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return value == ((Capacity) other).value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Integer.hashCode(value);
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
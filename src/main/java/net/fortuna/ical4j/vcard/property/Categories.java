@@ -41,6 +41,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * CATEGORIES property.
@@ -106,6 +107,22 @@ public final class Categories extends Property {
         return categories.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(categories, ((Categories) other).categories);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(categories);
+    }
+
     /**
      * {@inheritDoc}
      */
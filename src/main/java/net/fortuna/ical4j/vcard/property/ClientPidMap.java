@@ -40,6 +40,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * GEO property.
@@ -105,6 +106,25 @@ public final class ClientPidMap extends Property {
         return String.valueOf(pid) + DELIMITER + urn;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final ClientPidMap clientPidMap = (ClientPidMap) other;
+        return pid == clientPidMap.pid && Objects.equals(urn, clientPidMap.urn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Integer.hashCode(pid);
+        result = 31 * result + Objects.hashCode(urn);
+        return result;
+    }
+
     /**
      * @return the pid
      */
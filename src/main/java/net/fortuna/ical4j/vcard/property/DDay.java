@@ -45,6 +45,7 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 import static net.fortuna.ical4j.util.Strings.unescape;
 
@@ -131,6 +132,25 @@ public final class DDay extends Property implements Encodable {
         return Strings.valueOf(date);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final DDay dDay = (DDay) other;
+        return Objects.equals(date, dDay.date) && Objects.equals(text, dDay.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(date);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
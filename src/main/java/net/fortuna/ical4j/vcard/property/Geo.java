@@ -42,6 +42,7 @@ import java.math.BigDecimal;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * GEO property.
@@ -112,6 +113,25 @@ public final class Geo extends Property {
         return String.valueOf(getLatitude()) + DELIMITER + String.valueOf(getLongitude());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Geo geo = (Geo) other;
+        return Objects.equals(latitude, geo.latitude) && Objects.equals(longitude, geo.longitude);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(latitude);
+        result = 31 * result + Objects.hashCode(longitude);
+        return result;
+    }
+
     /**
      * @return the latitude
      */
@@ -44,10 +44,13 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * KEY property.
@@ -69,7 +72,7 @@ public final class Key extends Property {
     
     private byte[] binary;
 
-    private final Log log = LogFactory.getLog(Key.class);
+    private static final Log LOG = LogFactory.getLog(Key.class);
     
     /**
      * @param uri a key URI
@@ -149,16 +152,8 @@ public final class Key extends Property {
      */
     @Override
     public String getValue() {
-    	final Parameter valueParameter = getParameter(Parameter.Id.VALUE);
         String stringValue = null;
-        
-        /*
-         * in the relaxed parsing mode we allow the vcard 2.1-style VALUE=URL parameter
-         */
-        if (valueParameter != null && Value.URI.equals(valueParameter) || 
-        	valueParameter != null && 
-        	     CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING) && 
-        	     "URL".equalsIgnoreCase(valueParameter.getValue())) {
+        if (isUriValue()) {
             stringValue = Strings.valueOf(uri);
         }
         else if (binary != null) {
@@ -166,12 +161,60 @@ public final class Key extends Property {
                 stringValue = Base64.getEncoder().encodeToString(binary);
             }
             catch (IllegalArgumentException iae) {
-                log.error("Error encoding binary data", iae);
+                LOG.error("Error encoding binary data", iae);
             }
         }
         return stringValue;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Key key = (Key) other;
+        return Objects.equals(uri, key.uri) && Arrays.equals(binary, key.binary);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Arrays.hashCode(binary);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeValue(final Appendable out) throws IOException {
+        // stream binary data rather than encoding it as a string..
+        if (!isUriValue() && binary != null) {
+            writeBase64(binary, out);
+        }
+        else {
+            super.writeValue(out);
+        }
+    }
+
+    /**
+     * @return true if the value parameter specifies a URI value
+     */
+    private boolean isUriValue() {
+        final Parameter valueParameter = getParameter(Parameter.Id.VALUE);
+
+        /*
+         * in the relaxed parsing mode we allow the vcard 2.1-style VALUE=URL parameter
+         */
+        return valueParameter != null && Value.URI.equals(valueParameter) ||
+            valueParameter != null &&
+                 CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING) &&
+                 "URL".equalsIgnoreCase(valueParameter.getValue());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -41,7 +41,9 @@ import org.apache.commons.lang3.ArrayUtils;
 
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -225,6 +227,30 @@ public final class N extends Property {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final N n = (N) other;
+        return Objects.equals(familyName, n.familyName) && Objects.equals(givenName, n.givenName)
+                && Arrays.equals(additionalNames, n.additionalNames)
+                && Arrays.equals(prefixes, n.prefixes) && Arrays.equals(suffixes, n.suffixes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(familyName);
+        result = 31 * result + Objects.hashCode(givenName);
+        result = 31 * result + Arrays.hashCode(additionalNames);
+        result = 31 * result + Arrays.hashCode(prefixes);
+        result = 31 * result + Arrays.hashCode(suffixes);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -39,6 +39,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -102,6 +103,22 @@ public final class Nickname extends Property {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Arrays.equals(names, ((Nickname) other).names);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Arrays.hashCode(names);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -95,6 +95,22 @@ public final class NoCost extends Property {
         return Strings.valueOf(value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return value == ((NoCost) other).value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Boolean.hashCode(value);
+    }
+
     @Override
     public void validate() throws ValidationException {
 	// TODO Auto-generated method stub
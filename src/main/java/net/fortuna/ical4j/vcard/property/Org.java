@@ -39,6 +39,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.List;
 
 import static net.fortuna.ical4j.util.Strings.escape;
@@ -141,6 +142,22 @@ public final class Org extends Property {
         return b.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Arrays.equals(values, ((Org) other).values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Arrays.hashCode(values);
+    }
+
     /**
      * {@inheritDoc}
      */
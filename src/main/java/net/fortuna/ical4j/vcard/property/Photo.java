@@ -44,11 +44,14 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * PHOTO property.
@@ -66,7 +69,7 @@ public final class Photo extends Property {
 
     private static final long serialVersionUID = 5927040228596008262L;
 
-    private final Log log = LogFactory.getLog(Photo.class);
+    private static final Log LOG = LogFactory.getLog(Photo.class);
     
     private URI uri;
 
@@ -154,12 +157,45 @@ public final class Photo extends Property {
                 stringValue = Base64.getEncoder().encodeToString(binary);
             }
             catch (IllegalArgumentException ee) {
-                log.error("Error encoding binary data", ee);
+                LOG.error("Error encoding binary data", ee);
             }
         }
         return stringValue;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Photo photo = (Photo) other;
+        return Objects.equals(uri, photo.uri) && Arrays.equals(binary, photo.binary);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Arrays.hashCode(binary);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeValue(final Appendable out) throws IOException {
+        // stream binary data rather than encoding it as a string..
+        if (uri == null && binary != null) {
+            writeBase64(binary, out);
+        }
+        else {
+            super.writeValue(out);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -45,6 +45,7 @@ import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RELATED property.
@@ -121,6 +122,25 @@ public final class Related extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Related related = (Related) other;
+        return Objects.equals(uri, related.uri) && Objects.equals(text, related.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -44,6 +44,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RESTRICTEDACCESSINFO property.
@@ -125,6 +126,26 @@ public final class RestrictedAccessInfo extends Property {
         return Strings.valueOf(uri);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final RestrictedAccessInfo restrictedAccessInfo = (RestrictedAccessInfo) other;
+        return Objects.equals(uri, restrictedAccessInfo.uri)
+                && Objects.equals(value, restrictedAccessInfo.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(value);
+        return result;
+    }
+
     @Override
     public void validate() throws ValidationException {
       // TODO Auto-generated method stub
@@ -43,6 +43,7 @@ import net.fortuna.ical4j.vcard.PropertyFactory;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * REVISION property.
@@ -113,6 +114,22 @@ public final class Revision extends Property {
         return Strings.valueOf(date);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        return Objects.equals(date, ((Revision) other).date);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        return Objects.hashCode(date);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -46,6 +46,7 @@ import java.net.URISyntaxException;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * TEL property.
@@ -167,6 +168,25 @@ public final class Telephone extends Property {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Telephone telephone = (Telephone) other;
+        return Objects.equals(uri, telephone.uri) && Objects.equals(value, telephone.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(uri);
+        result = 31 * result + Objects.hashCode(value);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
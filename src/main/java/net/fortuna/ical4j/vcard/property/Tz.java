@@ -42,6 +42,7 @@ import net.fortuna.ical4j.vcard.parameter.Value;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * TZ property.
@@ -124,6 +125,25 @@ public final class Tz extends Property {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final Tz tz = (Tz) other;
+        return Objects.equals(offset, tz.offset) && Objects.equals(text, tz.text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(offset);
+        result = 31 * result + Objects.hashCode(text);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -43,8 +43,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * KEY property.
@@ -66,7 +68,7 @@ public final class XML extends Property {
 
     private byte[] binary;
 
-    private final Log log = LogFactory.getLog(XML.class);
+    private static final Log LOG = LogFactory.getLog(XML.class);
 
     /**
      * @param value a key URI
@@ -150,12 +152,31 @@ public final class XML extends Property {
                 return Base64.getEncoder().encodeToString(binary);
             }
             catch (IllegalArgumentException ee) {
-                log.error("Error encoding binary data", ee);
+                LOG.error("Error encoding binary data", ee);
             }
         }
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean valueEquals(final Property other) {
+        final XML xML = (XML) other;
+        return Objects.equals(value, xML.value) && Arrays.equals(binary, xML.binary);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueHashCode() {
+        int result = Objects.hashCode(value);
+        result = 31 * result + Arrays.hashCode(binary);
+        return result;
+    }
+
     @Override
     public void validate() throws ValidationException {
 	// TODO Auto-generated method stub
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class CanonicalFormTest {
+
+    private static final String CARD = VCardFixtures.CARD.replace("NOTE:",
+            "TEL;TYPE=voice,work;VALUE=uri:tel:+1-919-676-9515\r\nNOTE:");
+
+    private static final String EQUIVALENT = "BEGIN:VCARD\r\n"
+            + "note:some\\, note\r\n"
+            + "tel;value=URI;type=Work;type=VOICE:tel:+1-919-676-9515\r\n"
+            + "VERSION:4.0\r\n"
+            + "ITEM1.email;pref=1;type=work:fdawson@example.com\r\n"
+            + "fn:Frank Dawson\r\n"
+            + "END:VCARD\r\n";
+
+    private static final String CANONICAL = "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Frank Dawson\r\n"
+            + "ITEM1.EMAIL;PREF=1;TYPE=work:fdawson@example.com\r\n"
+            + "NOTE:some\\, note\r\n"
+            + "TEL;TYPE=voice,work;VALUE=uri:tel:+1-919-676-9515\r\n"
+            + "END:VCARD\r\n";
+
+    @Test
+    public void testCanonicalOutput() throws IOException, ParserException, ValidationException {
+        final VCardOutputter outputter = new VCardOutputter(false);
+        outputter.setCanonical(true);
+        for (String card : Arrays.asList(CARD, EQUIVALENT)) {
+            for (boolean lazy : new boolean[] {false, true}) {
+                final StringWriter out = new StringWriter();
+                outputter.output(VCardFixtures.build(card, lazy), out);
+                assertEquals(CANONICAL, out.toString());
+            }
+        }
+    }
+
+    /**
+     * Properties with identical names and parameters are ordered by value.
+     */
+    @Test
+    public void testIdenticalHeaders() throws IOException, ParserException, ValidationException {
+        final String card = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:A\r\nEMAIL:b@example.com\r\n"
+                + "NOTE:z\r\nEMAIL;TYPE=work:c@example.com\r\nEMAIL:a@example.com\r\nEND:VCARD\r\n";
+        final String expected = "BEGIN:VCARD\r\nVERSION:4.0\r\nEMAIL:a@example.com\r\n"
+                + "EMAIL:b@example.com\r\nEMAIL;TYPE=work:c@example.com\r\nFN:A\r\nNOTE:z\r\nEND:VCARD\r\n";
+        final VCardOutputter outputter = new VCardOutputter(false);
+        outputter.setCanonical(true);
+        for (boolean lazy : new boolean[] {false, true}) {
+            final StringWriter out = new StringWriter();
+            outputter.output(VCardFixtures.build(card, lazy), out);
+            assertEquals(expected, out.toString());
+        }
+    }
+
+    private static byte[] digest(final VCard card) throws NoSuchAlgorithmException {
+        return new VCardOutputter(false).digest(card, MessageDigest.getInstance("SHA-256"));
+    }
+
+    @Test
+    public void testDigest() throws IOException, ParserException, NoSuchAlgorithmException {
+        final byte[] expected = MessageDigest.getInstance("SHA-256").digest(
+                CANONICAL.getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, digest(VCardFixtures.build(CARD, false)));
+        assertArrayEquals(expected, digest(VCardFixtures.build(EQUIVALENT, true)));
+
+        final VCard changed = VCardFixtures.build(CARD.replace("some", "another"), false);
+        assertFalse(Arrays.equals(expected, digest(changed)));
+    }
+
+    @Test
+    public void testLanguageCase() throws IOException, ParserException, NoSuchAlgorithmException {
+        final String card = CARD.replace("NOTE:", "NOTE;LANGUAGE=en-US:");
+        assertArrayEquals(digest(VCardFixtures.build(card, false)),
+                digest(VCardFixtures.build(card.replace("en-US", "EN-us"), false)));
+    }
+
+    @Test
+    public void testLazyUnmodified() throws IOException, ParserException, NoSuchAlgorithmException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        digest(card);
+        boolean lazy = false;
+        for (Property property : card.getUnresolvedProperties()) {
+            lazy |= property instanceof LazyProperty;
+        }
+        assertTrue(lazy);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Created on: 18/10/2026
+ *
+ */
+public class ContentLineTokenizerTest {
+
+    private final ContentLineTokenizer tokenizer = new ContentLineTokenizer();
+
+    @Test
+    public void testNameAndValue() {
+        assertTrue(tokenizer.tokenize("FN:Frank Dawson"));
+        assertFalse(tokenizer.hasGroup());
+        assertNull(tokenizer.getGroup());
+        assertEquals("FN", tokenizer.getName());
+        assertEquals(0, tokenizer.getParameterCount());
+        assertEquals("Frank Dawson", tokenizer.getValue());
+    }
+
+    @Test
+    public void testGroup() {
+        assertTrue(tokenizer.tokenize("item1.X-ABLabel:_$!<Other>!$_"));
+        assertTrue(tokenizer.hasGroup());
+        assertEquals("item1", tokenizer.getGroup());
+        assertEquals("X-ABLabel", tokenizer.getName());
+        assertEquals("_$!<Other>!$_", tokenizer.getValue());
+    }
+
+    @Test
+    public void testParameters() {
+        assertTrue(tokenizer.tokenize("TEL;TYPE=work,voice;PREF;X-A=b=c:+1-919-676-9515"));
+        assertEquals("TEL", tokenizer.getName());
+        assertEquals(3, tokenizer.getParameterCount());
+        assertEquals("TYPE", tokenizer.getParameterName(0));
+        assertEquals("work,voice", tokenizer.getParameterValue(0));
+        assertEquals("PREF", tokenizer.getParameterName(1));
+        assertNull(tokenizer.getParameterValue(1));
+        assertEquals("X-A", tokenizer.getParameterName(2));
+        assertEquals("b", tokenizer.getParameterValue(2));
+        assertEquals("+1-919-676-9515", tokenizer.getValue());
+    }
+
+    @Test
+    public void testQuotedParameters() {
+        assertTrue(tokenizer.tokenize("ADR;LABEL=\"Suite 1;Main St: 1\";TYPE=home:;;Main St"));
+        assertEquals(2, tokenizer.getParameterCount());
+        assertEquals("LABEL", tokenizer.getParameterName(0));
+        assertEquals("\"Suite 1;Main St: 1\"", tokenizer.getParameterValue(0));
+        assertEquals("TYPE", tokenizer.getParameterName(1));
+        assertEquals("home", tokenizer.getParameterValue(1));
+        assertEquals(";;Main St", tokenizer.getValue());
+    }
+
+    @Test
+    public void testUnbalancedQuotes() {
+        assertTrue(tokenizer.tokenize("NOTE;X-A=\"b:c"));
+        assertEquals(1, tokenizer.getParameterCount());
+        assertEquals("\"b", tokenizer.getParameterValue(0));
+        assertEquals("c", tokenizer.getValue());
+    }
+
+    @Test
+    public void testValueDelimiters() {
+        assertTrue(tokenizer.tokenize("URL:http://www.example.com:8080/;a=b"));
+        assertEquals(0, tokenizer.getParameterCount());
+        assertEquals("http://www.example.com:8080/;a=b", tokenizer.getValue());
+    }
+
+    @Test
+    public void testInvalid() {
+        assertFalse(tokenizer.tokenize("FN"));
+        assertFalse(tokenizer.tokenize("FN;TYPE=work"));
+        assertFalse(tokenizer.tokenize(":value"));
+        assertFalse(tokenizer.tokenize("X-1:value"));
+    }
+
+    @Test
+    public void testTokenizeName() {
+        assertTrue(tokenizer.tokenizeName("item1.email;TYPE=INTERNET:a@example.com"));
+        assertTrue(tokenizer.isName("EMAIL"));
+        assertFalse(tokenizer.isName("EMAILS"));
+        assertFalse(tokenizer.isName("TEL"));
+        assertTrue(tokenizer.tokenizeParameters());
+        assertEquals("item1", tokenizer.getGroup());
+        assertEquals("INTERNET", tokenizer.getParameterValue(0));
+        assertEquals("a@example.com", tokenizer.getValue());
+    }
+}
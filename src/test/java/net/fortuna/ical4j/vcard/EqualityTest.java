@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.util.CompatibilityHints;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.Test;
+
+/**
+ * Verifies that equality of properties, parameters and groups agrees with a reflective
+ * comparison of their fields.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class EqualityTest {
+
+    @Test
+    public void testProperties() throws Exception {
+        // independently constructed instances of each property..
+        final List<Object> properties = instances("property");
+        properties.addAll(instances("property"));
+        assertTrue(properties.size() > 100);
+        // ..and differing instances of the same property..
+        properties.addAll(parsed());
+        properties.addAll(parsed());
+        assertAgree(properties);
+    }
+
+    @Test
+    public void testLazy() throws Exception {
+        final String card = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:Frank Dawson\r\nN:Dawson;Frank;;;\r\n"
+                + "item1.EMAIL;TYPE=work:fdawson@example.com\r\nX-CUSTOM:a\r\nEND:VCARD\r\n";
+        final List<Property> eager = new VCardBuilder(new StringReader(card)).build().getProperties();
+
+        // the same properties at different lines..
+        final VCardBuilder builder = new VCardBuilder(new StringReader(card + card));
+        builder.setLazy(true);
+        final List<VCard> cards = builder.buildAll();
+        final List<Property> lazy = unresolved(cards.get(1));
+        assertEquals(eager.size(), lazy.size());
+        for (int i = 0; i < eager.size(); i++) {
+            assertTrue(lazy.get(i) instanceof LazyProperty);
+            assertEquals(eager.get(i), lazy.get(i));
+            assertEquals(lazy.get(i), eager.get(i));
+            assertEquals(eager.get(i).hashCode(), lazy.get(i).hashCode());
+            assertEquals(unresolved(cards.get(0)).get(i), lazy.get(i));
+        }
+        assertEquals(eager, lazy);
+        // ..and equality is unchanged by resolving either side
+        assertEquals(eager, cards.get(1).getProperties());
+        assertEquals(unresolved(cards.get(0)), cards.get(1).getProperties());
+    }
+
+    @Test
+    public void testParameters() throws Exception {
+        final List<Object> parameters = instances("parameter");
+        parameters.addAll(instances("parameter"));
+        for (Object property : instances("property")) {
+            parameters.addAll(((Property) property).getParameters());
+        }
+        for (Object property : parsed()) {
+            parameters.addAll(((Property) property).getParameters());
+        }
+        assertAgree(parameters);
+    }
+
+    @Test
+    public void testGroups() {
+        assertAgree(Arrays.<Object>asList(Group.WORK, new Group(Group.Id.WORK), Group.HOME,
+                new Group("item1"), new Group("item1"), new Group("item2")));
+    }
+
+    private static void assertAgree(final List<Object> instances) {
+        for (Object a : instances) {
+            for (Object b : instances) {
+                final boolean expected = EqualsBuilder.reflectionEquals(a, b);
+                if (expected != a.equals(b)) {
+                    fail(a.getClass().getName() + " instances compare unlike their fields");
+                }
+                if (expected) {
+                    assertEquals(a.hashCode(), b.hashCode());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the properties of the specified vCard, without resolving lazy properties
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Property> unresolved(final VCard card) throws ReflectiveOperationException {
+        final Field properties = VCard.class.getDeclaredField("properties");
+        properties.setAccessible(true);
+        return new ArrayList<Property>((List<Property>) properties.get(card));
+    }
+
+    /**
+     * @return the properties of the valid sample vCards
+     */
+    private static List<Object> parsed() throws IOException, ParserException {
+        final List<Object> properties = new ArrayList<Object>();
+        final File[] files = new File("src/test/resources/samples/valid").listFiles(
+                (FileFilter) VCardFileFilter.INSTANCE);
+        Arrays.sort(files);
+        CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING, true);
+        try {
+            for (File file : files) {
+                for (VCard card : new VCardBuilder(new FileReader(file)).buildAll()) {
+                    properties.addAll(card.getProperties());
+                }
+            }
+        }
+        finally {
+            CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING, false);
+        }
+        return properties;
+    }
+
+    /**
+     * @return the instances under test in each test class of the specified package
+     */
+    private static List<Object> instances(final String packageName) throws Exception {
+        final List<Object> instances = new ArrayList<Object>();
+        // the test classes directory, rather than any main classes directory for the package..
+        final File testClasses = new File(EqualityTest.class.getResource("EqualityTest.class").toURI());
+        final String[] names = new File(testClasses.getParentFile(), packageName).list();
+        Arrays.sort(names);
+        for (String name : names) {
+            if (!name.endsWith("Test.class")) {
+                continue;
+            }
+            final Class<?> testClass = Class.forName(EqualityTest.class.getPackage().getName()
+                    + "." + packageName + "." + name.substring(0, name.length() - ".class".length()));
+            final Method parameters;
+            try {
+                parameters = testClass.getMethod("parameters");
+            }
+            catch (NoSuchMethodException e) {
+                continue;
+            }
+            for (Object row : (Collection<?>) parameters.invoke(null)) {
+                final Object instance = ((Object[]) row)[0];
+                if (instance instanceof Property || instance instanceof Parameter) {
+                    instances.add(instance);
+                }
+            }
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.util.CompatibilityHints;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class IncrementalVCardBuilderTest {
+
+    /**
+     * Lines ending in CRLF, bare LF and bare CR, folds of CRLF followed by a space or tab and
+     * of a bare LF followed by a space, and multi-byte characters either side of a fold.
+     */
+    private static final String CARDS = "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Frank\r\n  Dawson\r\n"
+            + "NOTE:Grüße\r\n\taus München\n"
+            + "TITLE:Engineer\r"
+            + "ORG:Example\n Corp\r\n"
+            + "END:VCARD\r\n"
+            + "BEGIN:VCARD\n"
+            + "VERSION:4.0\n"
+            + "FN:東京\r\n 太郎\r\n"
+            + "END:VCARD\r\n";
+
+    private boolean defaultUnfolding;
+
+    @Before
+    public void setUp() {
+        defaultUnfolding = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING);
+    }
+
+    @After
+    public void tearDown() {
+        CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING, defaultUnfolding);
+    }
+
+    /**
+     * A line separator or fold split between any two chunks should be read as if whole.
+     */
+    @Test
+    public void testSplitDelimiters() throws IOException, ParserException {
+        for (final boolean relaxedUnfolding : new boolean[] {false, true}) {
+            CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING, relaxedUnfolding);
+            final byte[] data = CARDS.getBytes(StandardCharsets.UTF_8);
+            final List<VCard> reference = new VCardBuilder(ByteBuffer.wrap(data)).buildAll();
+            assertEquals(2, reference.size());
+            assertEquals("Frank Dawson", reference.get(0).getProperty(Property.Id.FN).getValue());
+            final String expected = reference.toString();
+            for (int split = 0; split <= data.length; split++) {
+                final IncrementalVCardBuilder builder = new IncrementalVCardBuilder();
+                final List<VCard> cards = new ArrayList<VCard>();
+                builder.feed(ByteBuffer.wrap(data, 0, split));
+                poll(builder, cards);
+                builder.feed(ByteBuffer.wrap(data, split, data.length - split));
+                poll(builder, cards);
+                builder.finish();
+                poll(builder, cards);
+                assertEquals("split at " + split + ", relaxed unfolding " + relaxedUnfolding,
+                        expected, cards.toString());
+            }
+        }
+    }
+
+    /**
+     * A CR at the end of the final chunk should end the line once the input is finished.
+     */
+    @Test
+    public void testTrailingCarriageReturn() throws IOException, ParserException {
+        final byte[] data = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:A\r\nEND:VCARD\r".getBytes(StandardCharsets.UTF_8);
+        final IncrementalVCardBuilder builder = new IncrementalVCardBuilder();
+        final List<VCard> cards = new ArrayList<VCard>();
+        builder.feed(ByteBuffer.wrap(data));
+        poll(builder, cards);
+        assertEquals(0, cards.size());
+        builder.finish();
+        poll(builder, cards);
+        assertEquals(new VCardBuilder(ByteBuffer.wrap(data)).buildAll().toString(), cards.toString());
+    }
+
+    private static void poll(final IncrementalVCardBuilder builder, final List<VCard> cards) {
+        for (VCard card = builder.poll(); card != null; card = builder.poll()) {
+            cards.add(card);
+        }
+    }
+}
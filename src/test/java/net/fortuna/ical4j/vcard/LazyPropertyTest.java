@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+import net.fortuna.ical4j.vcard.property.Email;
+import net.fortuna.ical4j.vcard.property.Photo;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class LazyPropertyTest {
+
+    /**
+     * The shared card, with names in lower case so that normalised output may be detected, and
+     * with binary and non-standard properties.
+     */
+    private static final String CARD = VCardFixtures.CARD.replace("FN:", "fn:")
+            .replace("item1.EMAIL;PREF=1;", "item1.email;pref=1;")
+            .replace("END:VCARD", "PHOTO;encoding=b:bm90IHJlYWxseSBhIHBob3Rv\r\n"
+                    + "x-custom;x-param=a:some\\, value\r\nEND:VCARD");
+
+    /**
+     * Properties that are never accessed should be output exactly as they were read.
+     */
+    @Test
+    public void testVerbatimOutput() throws IOException, ParserException {
+        assertEquals(CARD, VCardFixtures.build(CARD, true).toString());
+    }
+
+    /**
+     * Writing a vCard should never replace its lazy properties, including VERSION.
+     */
+    @Test
+    public void testOutputUnmodified() throws IOException, ParserException, ValidationException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        card.toString();
+        new VCardOutputter(false).output(card, new StringWriter());
+        for (final Property property : card.getUnresolvedProperties()) {
+            assertTrue(property instanceof LazyProperty);
+        }
+    }
+
+    @Test
+    public void testResolveOnAccess() throws IOException, ParserException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        final Property email = card.getProperty(Property.Id.EMAIL);
+        assertTrue(email instanceof Email);
+        assertEquals("fdawson@example.com", email.getValue());
+        assertEquals("item1", email.getGroup().toString());
+        assertEquals("some, value", card.getExtendedProperty("X-CUSTOM").getValue());
+
+        // accessed properties are normalised, others remain verbatim..
+        final String output = card.toString();
+        assertFalse(output.contains("item1.email;pref=1;type=work:"));
+        assertTrue(output.contains("fn:Frank Dawson\r\n"));
+        assertTrue(output.contains("PHOTO;encoding=b:bm90IHJlYWxseSBhIHBob3Rv\r\n"));
+    }
+
+    @Test
+    public void testResolveAll() throws IOException, ParserException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        assertEquals(6, card.getProperties().size());
+        for (final Property property : card.getProperties()) {
+            assertFalse(property instanceof LazyProperty);
+        }
+        assertTrue(card.getProperty(Property.Id.PHOTO) instanceof Photo);
+    }
+
+    @Test
+    public void testResolveOnce() throws IOException, ParserException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        final LazyProperty lazy = (LazyProperty) card.getUnresolvedProperties().get(2);
+        assertSame(lazy.resolve(), lazy.resolve());
+        assertSame(lazy.resolve(), card.getProperty(Property.Id.EMAIL));
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ParserException, ClassNotFoundException {
+        final VCard card = VCardFixtures.build(CARD, true);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(card);
+        out.close();
+
+        // serialization neither resolves the card nor writes unresolvable properties..
+        assertEquals(CARD, card.toString());
+        final VCard copy = (VCard) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+                .readObject();
+        for (final Property property : copy.getUnresolvedProperties()) {
+            assertFalse(property instanceof LazyProperty);
+        }
+        assertEquals(card.getProperties(), copy.getProperties());
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.vcard.Property.Id;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class ParallelVCardBuilderTest {
+
+    private static final int CARD_COUNT = 2000;
+
+    private ForkJoinPool pool;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = File.createTempFile("parallel", ".vcf");
+        file.deleteOnExit();
+        write(file, 0, CARD_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+        file.delete();
+    }
+
+    @Test
+    public void testOrdered() throws IOException, ParserException {
+        final List<VCard> expected = new VCardBuilder(new FileInputStream(file)).buildAll();
+        final List<VCard> cards = new ParallelVCardBuilder(pool, true, 512, new GroupRegistry(),
+                new PropertyFactoryRegistry(), new ParameterFactoryRegistry()).buildAll(file);
+        assertEquals(CARD_COUNT, cards.size());
+        assertEquals(expected.toString(), cards.toString());
+    }
+
+    @Test
+    public void testUnordered() throws IOException, ParserException {
+        final List<VCard> cards = new ParallelVCardBuilder(pool, false, 512, new GroupRegistry(),
+                new PropertyFactoryRegistry(), new ParameterFactoryRegistry()).buildAll(file);
+        assertEquals(names(0, CARD_COUNT), sortedNames(cards));
+    }
+
+    @Test
+    public void testDirectory() throws IOException, ParserException {
+        final File dir = new File(file.getParentFile(), file.getName() + ".d");
+        dir.mkdir();
+        final File a = new File(dir, "a.vcf");
+        final File b = new File(dir, "b.vcf");
+        final File ignored = new File(dir, "c.txt");
+        final File d = new File(dir, "d.vcf.gz");
+        try {
+            write(a, 0, 10);
+            write(b, 10, 5);
+            write(ignored, 15, 1);
+            write(d, 16, 3);
+            final List<VCard> cards = new ParallelVCardBuilder(pool, true).buildAll(dir);
+            assertEquals(18, cards.size());
+            assertEquals("Person 0", cards.get(0).getProperty(Id.FN).getValue());
+            assertEquals("Person 14", cards.get(14).getProperty(Id.FN).getValue());
+            assertEquals("Person 18", cards.get(17).getProperty(Id.FN).getValue());
+        }
+        finally {
+            a.delete();
+            b.delete();
+            ignored.delete();
+            d.delete();
+            dir.delete();
+        }
+    }
+
+    /**
+     * Writes cards with folded multi-byte values and mixed-case delimiters, compressed
+     * where the file name has a gzip suffix.
+     */
+    private static void write(final File file, final int first, final int count) throws IOException {
+        OutputStream stream = new FileOutputStream(file);
+        if (file.getName().endsWith(".gz")) {
+            stream = GzipCodec.INSTANCE.encode(stream);
+        }
+        try (Writer out = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+            for (int i = first; i < first + count; i++) {
+                out.write(i % 3 == 0 ? "begin:vcard\r\n" : "BEGIN:VCARD\r\n");
+                out.write("VERSION:4.0\r\n");
+                out.write("FN:Person " + i + "\r\n");
+                out.write("NOTE:Grüß\r\n e aus München – " + i + "\r\n");
+                out.write("END:VCARD\r\n");
+            }
+        }
+    }
+
+    private static List<String> names(final int first, final int count) {
+        final List<String> names = new ArrayList<String>();
+        for (int i = first; i < first + count; i++) {
+            names.add("Person " + i);
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static List<String> sortedNames(final List<VCard> cards) {
+        final List<String> names = new ArrayList<String>();
+        for (final VCard card : cards) {
+            names.add(card.getProperty(Id.FN).getValue());
+        }
+        Collections.sort(names);
+        return names;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.fortuna.ical4j.validate.ValidationException;
+import net.fortuna.ical4j.vcard.property.Fn;
+import net.fortuna.ical4j.vcard.property.Note;
+import net.fortuna.ical4j.vcard.property.Version;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class ParallelVCardOutputterTest {
+
+    private static final int CARD_COUNT = 2000;
+
+    private ForkJoinPool pool;
+
+    private List<VCard> cards;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        cards = new ArrayList<VCard>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            final VCard card = new VCard();
+            card.getProperties().add(Version.VERSION_4_0);
+            card.getProperties().add(new Fn("Person " + i));
+            card.getProperties().add(new Note("Grüße aus München – a note long enough to be folded " + i));
+            cards.add(card);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testOrderedOutput() throws IOException, ValidationException {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new VCardOutputter(true).output(cards, expected);
+
+        final ParallelVCardOutputter outputter = new ParallelVCardOutputter(pool, true, 73, 7);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ParallelVCardOutputter.Statistics statistics = outputter.output(cards, out);
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+        assertEquals(CARD_COUNT, statistics.getCardCount());
+        assertEquals(expected.size(), statistics.getByteCount());
+
+        out.reset();
+        outputter.output(cards.stream(), Channels.newChannel(out));
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void testValidationFailure() throws IOException {
+        // a card without FN is invalid..
+        cards.get(1000).getProperties().remove(1);
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try {
+            new VCardOutputter(true).output(cards, expected);
+            fail("Expected ValidationException");
+        }
+        catch (ValidationException e) {
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new ParallelVCardOutputter(pool, true, 73, 7).output(cards, out);
+            fail("Expected ValidationException");
+        }
+        catch (ValidationException e) {
+        }
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void testConfiguredOutputter() throws IOException, ValidationException {
+        final VCardOutputter configured = new VCardOutputter(true, 40);
+        configured.setCanonical(true);
+        configured.setReuseBuffers(true);
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        configured.output(cards, expected);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ParallelVCardOutputter(pool, configured, 7).output(cards, out);
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCodecRejected() {
+        final VCardOutputter configured = new VCardOutputter(true);
+        configured.setCodec(GzipCodec.INSTANCE);
+        new ParallelVCardOutputter(pool, configured, 7);
+    }
+}
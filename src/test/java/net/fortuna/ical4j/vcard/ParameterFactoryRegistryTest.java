@@ -32,11 +32,13 @@
 package net.fortuna.ical4j.vcard;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import net.fortuna.ical4j.vcard.parameter.Language;
 import net.fortuna.ical4j.vcard.parameter.Pref;
 import net.fortuna.ical4j.vcard.parameter.Type;
 
@@ -81,6 +83,14 @@ public class ParameterFactoryRegistryTest {
         assertEquals(expectedParam, factory.createParameter(paramValue));
     }
 
+    @Test
+    public void testCreateParameter() {
+        final Parameter parameter = registry.createParameter(paramName, paramValue);
+        assertEquals(expectedParam, parameter);
+        // repeated parameters share an instance..
+        assertSame(parameter, registry.createParameter(paramName, paramValue));
+    }
+
     @Parameters
     public static Collection<Object[]> parameters() {
         List<Object[]> params = new ArrayList<Object[]>();
@@ -88,6 +98,8 @@ public class ParameterFactoryRegistryTest {
         ParameterFactoryRegistry registry = new ParameterFactoryRegistry();
         params.add(new Object[] {registry, Type.PREF.getId().toString(), Type.PREF.getValue(), Type.PREF});
         params.add(new Object[] {registry, Parameter.Id.PREF.toString(), "1", new Pref(1)});
+        params.add(new Object[] {registry, Parameter.Id.TYPE.toString(), "cell,voice", new Type("cell", "voice")});
+        params.add(new Object[] {registry, Parameter.Id.LANGUAGE.toString(), "en", new Language("en")});
         return params;
     }
 }
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.vcard.Property.Id;
+import net.fortuna.ical4j.vcard.parameter.SortAs;
+import net.fortuna.ical4j.vcard.parameter.Type;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class ParameterInternTest {
+
+    @Test
+    public void testCapacity() {
+        final ParameterFactoryRegistry registry = new ParameterFactoryRegistry(4);
+        final Parameter cell = registry.createParameter("TYPE", "cell");
+        assertSame(cell, registry.createParameter("TYPE", "cell"));
+        for (int i = 0; i < 100; i++) {
+            registry.createParameter("TYPE", "x-unique-" + i);
+            assertTrue(registry.getInternedCount() <= 4);
+        }
+        // unique values displace those not recently used, without preventing later reuse..
+        final Parameter fax = registry.createParameter("TYPE", "fax");
+        assertEquals(cell, registry.createParameter("TYPE", "cell"));
+        assertSame(fax, registry.createParameter("TYPE", "fax"));
+        assertSame(registry.createParameter("TYPE", "cell"), registry.createParameter("TYPE", "cell"));
+    }
+
+    @Test
+    public void testRecentlyUsed() {
+        final ParameterFactoryRegistry registry = new ParameterFactoryRegistry(4);
+        final Parameter cell = registry.createParameter("TYPE", "cell");
+        for (int i = 0; i < 100; i++) {
+            registry.createParameter("TYPE", "x-unique-" + i);
+            assertSame(cell, registry.createParameter("TYPE", "cell"));
+        }
+    }
+
+    @Test
+    public void testSharedTypes() {
+        final ParameterFactoryRegistry registry = new ParameterFactoryRegistry();
+        final Type type = (Type) registry.createParameter("TYPE", "cell,voice");
+        type.getTypes()[0] = "fax";
+        assertEquals(new Type("cell", "voice"), registry.createParameter("TYPE", "cell,voice"));
+
+        final String sortAsName = Parameter.Id.SORT_AS.name();
+        final SortAs sortAs = (SortAs) registry.createParameter(sortAsName, "Dawson;Frank");
+        final int hash = sortAs.hashCode();
+        sortAs.getSegments()[0] = "Smith";
+        assertEquals(hash, sortAs.hashCode());
+        assertEquals(new SortAs("Dawson;Frank"), registry.createParameter(sortAsName, "Dawson;Frank"));
+
+        final String[] types = {"cell", "voice"};
+        final Type constructed = new Type(types);
+        types[0] = "fax";
+        assertEquals(new Type("cell", "voice"), constructed);
+    }
+
+    @Test
+    public void testSharedDefault() throws IOException, ParserException {
+        assertSame(new ParameterFactoryRegistry().createParameter("TYPE", "cell,voice"),
+                new ParameterFactoryRegistry().createParameter("TYPE", "cell,voice"));
+        assertNotSame(new ParameterFactoryRegistry(16).createParameter("TYPE", "cell,voice"),
+                new ParameterFactoryRegistry(16).createParameter("TYPE", "cell,voice"));
+
+        // separate builders, as for each upload to a server, share parameters..
+        final String card = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:A\r\nTEL;TYPE=cell,voice:tel:1\r\nEND:VCARD\r\n";
+        final Parameter type = new VCardBuilder(new StringReader(card)).build().getProperty(Id.TEL)
+                .getParameter(Parameter.Id.TYPE);
+        assertSame(type, new VCardBuilder(new StringReader(card)).build().getProperty(Id.TEL)
+                .getParameter(Parameter.Id.TYPE));
+    }
+
+    @Test
+    public void testNoInterning() {
+        final ParameterFactoryRegistry registry = new ParameterFactoryRegistry(0);
+        assertNotSame(registry.createParameter("TYPE", "cell"), registry.createParameter("TYPE", "cell"));
+    }
+
+    @Test
+    public void testExtended() {
+        final ParameterFactoryRegistry registry = new ParameterFactoryRegistry();
+        registry.register("X-PARAM", new ParameterFactory<Parameter>() {
+            @Override
+            public Parameter createParameter(final String value) {
+                return new Parameter("X-PARAM") {
+                    @Override
+                    public String getValue() {
+                        return value;
+                    }
+                };
+            }
+        });
+        // non-standard parameters may not be immutable..
+        assertNotSame(registry.createParameter("X-PARAM", "a"), registry.createParameter("X-PARAM", "a"));
+        assertNull(registry.createParameter("X-UNKNOWN", "a"));
+    }
+
+    @Test
+    public void testBuild() throws IOException, ParserException {
+        final String card = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:A\r\nTEL;TYPE=cell,voice:tel:1\r\nEND:VCARD\r\n";
+        final List<VCard> cards = new VCardBuilder(new StringReader(card + card)).buildAll();
+        final Parameter type = cards.get(0).getProperty(Id.TEL).getParameter(Parameter.Id.TYPE);
+        assertEquals(new Type("cell", "voice"), type);
+        assertSame(type, cards.get(1).getProperty(Id.TEL).getParameter(Parameter.Id.TYPE));
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.fortuna.ical4j.vcard.Property.Id;
+import net.fortuna.ical4j.vcard.property.Email;
+import net.fortuna.ical4j.vcard.property.Fn;
+import net.fortuna.ical4j.vcard.property.Note;
+import net.fortuna.ical4j.vcard.property.Version;
+import net.fortuna.ical4j.vcard.property.Xproperty;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class PropertyListTest {
+
+    private VCard card;
+
+    @Before
+    public void setUp() {
+        card = new VCard(Arrays.<Property>asList(Version.VERSION_4_0, new Fn("Frank Dawson"),
+                new Email("a@example.com"), new Xproperty("X-CUSTOM", "1"), new Email("b@example.com")));
+        // build the index before each modification..
+        assertIndexed();
+    }
+
+    @Test
+    public void testModification() {
+        final List<Property> properties = card.getProperties();
+        properties.add(new Note("note"));
+        assertIndexed();
+        properties.add(0, new Email("c@example.com"));
+        assertIndexed();
+        assertEquals("c@example.com", card.getProperty(Id.EMAIL).getValue());
+        properties.remove(0);
+        assertIndexed();
+        properties.set(2, new Xproperty("X-CUSTOM", "2"));
+        assertIndexed();
+        assertEquals(2, card.getExtendedProperties("X-CUSTOM").size());
+        properties.removeIf(p -> p instanceof Email);
+        assertIndexed();
+        assertNull(card.getProperty(Id.EMAIL));
+        properties.addAll(1, Arrays.asList(new Email("d@example.com"), new Email("e@example.com")));
+        assertIndexed();
+        properties.subList(0, 2).clear();
+        assertIndexed();
+        properties.subList(0, 1).add(new Xproperty("X-OTHER", "3"));
+        assertIndexed();
+        properties.retainAll(Collections.singleton(properties.get(0)));
+        assertIndexed();
+        properties.clear();
+        assertIndexed();
+    }
+
+    @Test
+    public void testReplaceSameKey() {
+        final Email replacement = new Email("replaced@example.com");
+        card.getProperties().set(2, replacement);
+        assertSame(replacement, card.getProperty(Id.EMAIL));
+        assertIndexed();
+    }
+
+    @Test
+    public void testFreeze() {
+        final String expected = card.toString();
+        assertFalse(card.isFrozen());
+        assertSame(card, card.freeze());
+        assertTrue(card.isFrozen());
+        assertEquals(expected, card.toString());
+        assertIndexed();
+        try {
+            card.getProperties().add(new Note("note"));
+            fail("Frozen property list modified");
+        }
+        catch (UnsupportedOperationException e) {
+            assertEquals(expected, card.toString());
+        }
+        try {
+            card.getProperty(Id.EMAIL).getParameters().clear();
+            fail("Frozen parameter list modified");
+        }
+        catch (UnsupportedOperationException e) {
+            assertEquals(expected, card.toString());
+        }
+    }
+
+    @Test
+    public void testLookupDuringModification() throws InterruptedException {
+        final List<Property> properties = card.getProperties();
+        final Thread modifier = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                properties.add(0, new Note("note"));
+                properties.remove(0);
+            }
+        });
+        modifier.start();
+        while (modifier.isAlive()) {
+            // lookups see a consistent snapshot of the list..
+            assertEquals(Id.EMAIL, card.getProperty(Id.EMAIL).getId());
+            for (Property email : card.getProperties(Id.EMAIL)) {
+                assertEquals(Id.EMAIL, email.getId());
+            }
+            assertEquals("1", card.getExtendedProperty("X-CUSTOM").getValue());
+        }
+        modifier.join();
+    }
+
+    @Test
+    public void testReplaceStale() {
+        final PropertyList properties = (PropertyList) card.getProperties();
+        final PropertyList.Index index = properties.index();
+        final Property email = index.get(index.positions(Id.EMAIL)[0]);
+        properties.add(0, new Note("note"));
+        // the index no longer reflects the list, so the replacement is not made..
+        properties.replace(index, index.positions(Id.EMAIL)[0], email, new Email("c@example.com"));
+        assertSame(email, card.getProperty(Id.EMAIL));
+        assertIndexed();
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        card.freeze();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(card);
+        out.close();
+        card = (VCard) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertTrue(card.isFrozen());
+        assertIndexed();
+    }
+
+    /**
+     * Verifies the indexed accessors against a scan of the property list.
+     */
+    private void assertIndexed() {
+        for (Id id : Id.values()) {
+            final List<Property> expected = new ArrayList<Property>();
+            for (Property p : card.getProperties()) {
+                if (p.getId().equals(id)) {
+                    expected.add(p);
+                }
+            }
+            assertEquals(expected, card.getProperties(id));
+            assertSame(expected.isEmpty() ? null : expected.get(0), card.getProperty(id));
+        }
+        for (String name : Arrays.asList("X-CUSTOM", "X-OTHER", "X-MISSING")) {
+            final List<Property> expected = new ArrayList<Property>();
+            for (Property p : card.getProperties()) {
+                if (p.getId().equals(Id.EXTENDED) && p.getExtendedName().equals(name)) {
+                    expected.add(p);
+                }
+            }
+            assertEquals(expected, card.getExtendedProperties(name));
+            assertSame(expected.isEmpty() ? null : expected.get(0), card.getExtendedProperty(name));
+        }
+    }
+}
@@ -35,7 +35,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 /**
- * Tests certain improvements in the {@link VCardBuilder#PROPERTY_NAME_PATTERN}
+ * Tests certain improvements in the property name recognition of {@link ContentLineTokenizer}
  * 
  * $Id$
  *
@@ -105,10 +105,10 @@ public class PropertyNamePatternTest {
 	}
 
 	private void ok(String string) {
-		Assert.assertTrue(VCardBuilder.PROPERTY_NAME_PATTERN.matcher(string).find());	
+		Assert.assertTrue(new ContentLineTokenizer().tokenize(string + ":"));
 	}
 	
 	private void wrong(String string) {
-		Assert.assertFalse(VCardBuilder.PROPERTY_NAME_PATTERN.matcher(string).find());
+		Assert.assertFalse(new ContentLineTokenizer().tokenize(string + ":"));
 	}
 }
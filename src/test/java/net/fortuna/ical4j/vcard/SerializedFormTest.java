@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+import net.fortuna.ical4j.vcard.parameter.Type;
+import net.fortuna.ical4j.vcard.property.Email;
+import net.fortuna.ical4j.vcard.property.Note;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class SerializedFormTest {
+
+    @Test
+    public void testPropertyCache() {
+        final Email email = new Email("fdawson@example.com");
+        final String expected = email.toString();
+
+        email.setCacheEnabled(true);
+        final String cached = email.toString();
+        assertEquals(expected, cached);
+        assertSame(cached, email.toString());
+
+        email.getParameters().add(Type.WORK);
+        assertEquals("EMAIL;type=work:fdawson@example.com\r\n", email.toString());
+        email.getParameters().set(0, Type.HOME);
+        assertEquals("EMAIL;type=home:fdawson@example.com\r\n", email.toString());
+        email.getParameters().clear();
+        assertEquals(expected, email.toString());
+
+        email.setCacheEnabled(false);
+        assertNotSame(email.toString(), email.toString());
+    }
+
+    @Test
+    public void testVCardCache() throws IOException, ParserException {
+        for (boolean lazy : new boolean[] {false, true}) {
+            final VCard card = VCardFixtures.build(VCardFixtures.CARD, lazy);
+            final String expected = card.toString();
+
+            card.setCacheEnabled(true);
+            final String cached = card.toString();
+            assertEquals(expected, cached);
+            // writing never resolves properties, so the first cached form remains current..
+            assertSame(cached, card.toString());
+
+            final Property email = card.getProperty(Property.Id.EMAIL);
+            email.getParameters().add(Type.HOME);
+            assertEquals(expected.replace("type=work", "type=work;type=home"), card.toString());
+
+            card.getProperties().add(new Note("another"));
+            assertEquals(expected.replace("type=work", "type=work;type=home").replace("END:VCARD",
+                    "NOTE:another\r\nEND:VCARD"), card.toString());
+
+            card.getProperties().remove(email);
+            assertEquals(expected.replace("item1.EMAIL;PREF=1;type=work:fdawson@example.com\r\n", "").replace(
+                    "END:VCARD", "NOTE:another\r\nEND:VCARD"), card.toString());
+        }
+    }
+
+    @Test
+    public void testOutputter() throws IOException, ParserException, ValidationException {
+        final VCard card = VCardFixtures.build(VCardFixtures.CARD, false);
+        final StringWriter expected = new StringWriter();
+        new VCardOutputter(false).output(card, expected);
+
+        card.setCacheEnabled(true);
+        for (int i = 0; i < 2; i++) {
+            final StringWriter out = new StringWriter();
+            new VCardOutputter(false).output(card, out);
+            assertEquals(expected.toString(), out.toString());
+        }
+    }
+}
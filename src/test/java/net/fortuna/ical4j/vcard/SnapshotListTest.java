@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class SnapshotListTest {
+
+    @Test
+    public void testModification() {
+        final List<Integer> expected = new ArrayList<Integer>();
+        final List<Integer> list = new SnapshotList<Integer>();
+        final Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            final int value = random.nextInt(50);
+            switch (random.nextInt(9)) {
+                case 0:
+                    if (!expected.isEmpty()) {
+                        final int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                    break;
+                case 1:
+                    final int insert = random.nextInt(expected.size() + 1);
+                    expected.add(insert, value);
+                    list.add(insert, value);
+                    break;
+                case 2:
+                    if (!expected.isEmpty()) {
+                        final int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                    break;
+                case 3:
+                    assertEquals(expected.remove(Integer.valueOf(value)), list.remove(Integer.valueOf(value)));
+                    break;
+                case 4:
+                    expected.addAll(Arrays.asList(value, value + 1));
+                    list.addAll(Arrays.asList(value, value + 1));
+                    break;
+                case 5:
+                    final int from = random.nextInt(expected.size() + 1);
+                    final int to = from + random.nextInt(expected.size() - from + 1);
+                    expected.subList(from, to).clear();
+                    list.subList(from, to).clear();
+                    break;
+                case 6:
+                    assertEquals(expected.removeIf(v -> v == value), list.removeIf(v -> v == value));
+                    break;
+                default:
+                    expected.add(value);
+                    list.add(value);
+            }
+            assertEquals(expected, list);
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(expected.indexOf(value), list.indexOf(value));
+            assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+        }
+        Collections.sort(expected);
+        list.sort(null);
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testSnapshotIteration() {
+        final List<String> list = new SnapshotList<String>(Arrays.asList("a", "b"));
+        final Iterator<String> iterator = list.iterator();
+        final Object[] array = list.toArray();
+        list.add("c");
+        list.set(0, "z");
+        list.remove(1);
+        assertEquals(Arrays.asList("a", "b"), toList(iterator));
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(array));
+        assertEquals(Arrays.asList("z", "c"), list);
+
+        // appending into spare capacity must not disturb an earlier snapshot..
+        final Iterator<String> before = list.iterator();
+        list.add("d");
+        assertEquals(Arrays.asList("z", "c"), toList(before));
+        assertEquals(Arrays.asList("z", "c", "d"), list);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorRemove() {
+        final Iterator<String> iterator = new SnapshotList<String>(Arrays.asList("a")).iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void testEmpty() {
+        final List<String> list = new SnapshotList<String>();
+        assertTrue(list.isEmpty());
+        assertFalse(list.iterator().hasNext());
+        assertFalse(list.addAll(Collections.<String>emptyList()));
+        assertEquals(Collections.emptyList(), list);
+    }
+
+    @Test
+    public void testFreeze() {
+        final List<String> list = new SnapshotList<String>();
+        list.add("a");
+        list.add("b");
+        ((SnapshotList<String>) list).freeze();
+        assertTrue(((SnapshotList<String>) list).isFrozen());
+        assertEquals(Arrays.asList("a", "b"), list);
+        for (Runnable change : Arrays.<Runnable>asList(() -> list.add("c"), () -> list.set(0, "z"),
+                () -> list.remove(0), () -> list.removeIf(s -> true), () -> list.sort(null), list::clear)) {
+            try {
+                change.run();
+                fail("Frozen list modified");
+            }
+            catch (UnsupportedOperationException e) {
+                assertEquals(Arrays.asList("a", "b"), list);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final List<String> list = new SnapshotList<String>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(list);
+        out.close();
+        final List<String> copy = (List<String>) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(list, copy);
+        copy.add("d");
+        assertEquals(Arrays.asList("a", "b", "c", "d"), copy);
+    }
+
+    private static List<String> toList(final Iterator<String> iterator) {
+        final List<String> list = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+}
@@ -32,11 +32,16 @@
 package net.fortuna.ical4j.vcard;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import net.fortuna.ical4j.data.ParserException;
 import net.fortuna.ical4j.vcard.Property.Id;
@@ -67,4 +72,41 @@ public class TwoVcardsInAFileTest {
 		assertEquals("Frank Dawson",cards.get(0).getProperty(Id.FN).getValue());
 		assertEquals("Tim Howes",cards.get(1).getProperty(Id.FN).getValue());		
 	}
+
+	/**
+	 * Tests lazy iteration over the same two-card example.
+	 */
+	@Test
+	public void testRfc2426ExampleIterator() throws IOException {
+		File file = new File("src/test/resources/samples/vcard-rfc2426.vcf");
+		try (VCardBuilder builder = new VCardBuilder(new FileReader(file))) {
+			Iterator<VCard> cards = builder.iterator();
+			assertTrue(cards.hasNext());
+			assertEquals("Frank Dawson", cards.next().getProperty(Id.FN).getValue());
+			assertTrue(cards.hasNext());
+			assertEquals("Tim Howes", cards.next().getProperty(Id.FN).getValue());
+			assertFalse(cards.hasNext());
+		}
+	}
+
+	@Test
+	public void testRfc2426ExampleStream() throws IOException {
+		File file = new File("src/test/resources/samples/vcard-rfc2426.vcf");
+		try (Stream<VCard> cards = new VCardBuilder(new FileReader(file)).stream()) {
+			List<String> names = cards.map(card -> card.getProperty(Id.FN).getValue())
+					.collect(Collectors.toList());
+			assertEquals(2, names.size());
+			assertEquals("Frank Dawson", names.get(0));
+			assertEquals("Tim Howes", names.get(1));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSingleIteration() throws IOException {
+		File file = new File("src/test/resources/samples/vcard-rfc2426.vcf");
+		try (VCardBuilder builder = new VCardBuilder(new FileReader(file))) {
+			builder.iterator();
+			builder.iterator();
+		}
+	}
 }
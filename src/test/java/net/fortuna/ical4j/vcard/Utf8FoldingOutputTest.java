@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class Utf8FoldingOutputTest {
+
+    private static final String VALUE = "NOTE:Grüße aus München – 東京 and 𝄞 clefs, "
+            + "repeated: Grüße aus München – 東京 and 𝄞 clefs, Grüße aus München – 東京 and 𝄞 clefs\r\n";
+
+    @Test
+    public void testFoldByOctets() throws IOException {
+        for (final int foldLength : new int[] {5, 6, 7, 40, 75, 1000}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final Utf8FoldingOutput output = new Utf8FoldingOutput(out, 16, foldLength);
+            output.append(VALUE).append(VALUE);
+            output.flush();
+
+            final byte[] bytes = out.toByteArray();
+            int lineLength = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '\r' || bytes[i] == '\n') {
+                    lineLength = 0;
+                    continue;
+                }
+                lineLength++;
+                assertTrue(lineLength <= Math.min(foldLength, Utf8FoldingOutput.MAX_FOLD_LENGTH));
+                if (bytes[i] == ' ' && i > 0 && bytes[i - 1] == '\n') {
+                    // a fold must never be followed by a continuation byte..
+                    assertTrue((bytes[i + 1] & 0xC0) != 0x80);
+                }
+            }
+            final String unfolded = new String(bytes, StandardCharsets.UTF_8).replaceAll("\r\n ", "");
+            assertEquals(VALUE + VALUE, unfolded);
+        }
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8FoldingOutput output = new Utf8FoldingOutput(Channels.newChannel(out), 8, 75);
+        output.append(VALUE);
+        output.flush();
+        assertEquals(VALUE, new String(out.toByteArray(), StandardCharsets.UTF_8).replaceAll("\r\n ", ""));
+    }
+
+    @Test
+    public void testUnpairedSurrogate() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8FoldingOutput output = new Utf8FoldingOutput(out, 16, 75);
+        output.append("a\uD834b\uDD1Ec");
+        output.flush();
+        assertEquals("a?b?c", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDanglingSurrogate() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8FoldingOutput output = new Utf8FoldingOutput(out, 16, 75);
+        output.append("ab\uD834");
+        output.flush();
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final Writer writer = new OutputStreamWriter(expected, StandardCharsets.UTF_8);
+        writer.append("ab\uD834");
+        writer.close();
+        assertEquals("ab?", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+}
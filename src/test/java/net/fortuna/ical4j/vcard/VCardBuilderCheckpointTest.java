@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.vcard.Property.Id;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class VCardBuilderCheckpointTest {
+
+    private static final int CARD_COUNT = 10;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("checkpoint", ".vcf");
+        file.deleteOnExit();
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write("\r\n");
+            for (int i = 0; i < CARD_COUNT; i++) {
+                out.write("BEGIN:VCARD\r\nVERSION:4.0\r\nFN:Pers\r\n ön " + i + "\r\nEND:VCARD\r\n");
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testOffsets() throws IOException, ParserException {
+        final String cards = "\r\nBEGIN:VCARD\r\nFN:A\r\nEND:VCARD\r\nBEGIN:VCARD\r\nFN:B\r\nEND:VCARD\r\n";
+        final VCardBuilder builder = new VCardBuilder(ByteBuffer.wrap(cards.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(-1, builder.getCardOrdinal());
+        builder.iterator().next();
+        assertEquals(0, builder.getCardOrdinal());
+        assertEquals(2, builder.getCardOffset());
+        assertEquals(32, builder.getOffset());
+    }
+
+    @Test
+    public void testResume() throws IOException, ParserException {
+        long offset;
+        long ordinal;
+        long resumedCardOffset = -1;
+        try (VCardBuilder builder = new VCardBuilder(FileChannel.open(file.toPath()))) {
+            final Iterator<VCard> cards = builder.iterator();
+            for (int i = 0; i < 4; i++) {
+                cards.next();
+            }
+            offset = builder.getOffset();
+            ordinal = builder.getCardOrdinal() + 1;
+            cards.next();
+            resumedCardOffset = builder.getCardOffset();
+        }
+        assertEquals(4, ordinal);
+
+        try (VCardBuilder builder = new VCardBuilder(FileChannel.open(file.toPath()), offset, ordinal)) {
+            final Iterator<VCard> cards = builder.iterator();
+            assertEquals("Persön 4", cards.next().getProperty(Id.FN).getValue());
+            assertEquals(4, builder.getCardOrdinal());
+            assertEquals(resumedCardOffset, builder.getCardOffset());
+
+            int count = 1;
+            while (cards.hasNext()) {
+                cards.next();
+                count++;
+            }
+            assertEquals(CARD_COUNT - 4, count);
+            assertEquals(CARD_COUNT - 1, builder.getCardOrdinal());
+            assertEquals(file.length(), builder.getOffset());
+        }
+    }
+}
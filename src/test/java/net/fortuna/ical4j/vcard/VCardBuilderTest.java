@@ -31,17 +31,31 @@
  */
 package net.fortuna.ical4j.vcard;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import net.fortuna.ical4j.data.ParserException;
 import net.fortuna.ical4j.util.CompatibilityHints;
@@ -103,6 +117,176 @@ public class VCardBuilderTest {
         }
     }
 
+    /**
+     * Cards built from raw UTF-8 bytes should be identical to those built from a reader.
+     */
+    @Test
+    public void testBuildFromBytes() throws IOException, ParserException {
+        final List<VCard> expected = new VCardBuilder(new InputStreamReader(
+                new FileInputStream(filename), StandardCharsets.UTF_8)).buildAll();
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(filename)));
+        assertEquals(expected.toString(), new VCardBuilder(buffer).buildAll().toString());
+        assertFalse(buffer.hasRemaining());
+
+        try (VCardBuilder channelBuilder = new VCardBuilder(FileChannel.open(Paths.get(filename)))) {
+            assertEquals(expected.toString(), channelBuilder.buildAll().toString());
+        }
+    }
+
+    /**
+     * Cards built from compressed data should be identical to those built from the original.
+     */
+    @Test
+    public void testBuildCompressed() throws IOException, ParserException {
+        final List<VCard> expected = new VCardBuilder(new FileInputStream(filename)).buildAll();
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = GzipCodec.INSTANCE.encode(compressed)) {
+            out.write(Files.readAllBytes(Paths.get(filename)));
+        }
+        assertEquals(expected.toString(), new VCardBuilder(new ByteArrayInputStream(compressed.toByteArray()),
+                GzipCodec.INSTANCE).buildAll().toString());
+    }
+
+    /**
+     * Handler events should describe the same cards and properties that are built.
+     */
+    @Test
+    public void testParse() throws IOException, ParserException {
+        final List<VCard> expected = new VCardBuilder(new FileReader(filename)).buildAll();
+
+        final List<List<String>> cards = new ArrayList<List<String>>();
+        new VCardBuilder(new FileReader(filename)).parse(new VCardHandler() {
+            @Override
+            public void startCard() {
+                cards.add(new ArrayList<String>());
+            }
+
+            @Override
+            public void property(String group, String name, Parameters parameters, String value) {
+                cards.get(cards.size() - 1).add(name);
+            }
+
+            @Override
+            public void endCard() {
+            }
+        });
+
+        assertEquals(expected.size(), cards.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final List<Property> properties = expected.get(i).getProperties();
+            assertEquals(properties.size(), cards.get(i).size());
+            for (int j = 0; j < properties.size(); j++) {
+                final Property property = properties.get(j);
+                final String name = property.getId() == Property.Id.EXTENDED
+                        ? property.extendedName : property.getId().getPropertyName();
+                assertEquals(name.toUpperCase(), cards.get(i).get(j));
+            }
+        }
+    }
+
+    /**
+     * A projected build should contain exactly the retained properties of a full build.
+     */
+    @Test
+    public void testProjection() throws IOException, ParserException {
+        final Set<Property.Id> ids = EnumSet.of(Property.Id.FN, Property.Id.EMAIL, Property.Id.TEL,
+                Property.Id.UID);
+        final List<VCard> expected = new VCardBuilder(new FileReader(filename)).buildAll();
+
+        final VCardBuilder projected = new VCardBuilder(new FileReader(filename));
+        projected.setProjection(ids, Collections.singleton("x-abuid"));
+        final List<VCard> cards = projected.buildAll();
+
+        assertEquals(expected.size(), cards.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final List<Property> retained = new ArrayList<Property>();
+            for (final Property property : expected.get(i).getProperties()) {
+                if (ids.contains(property.getId()) || (property.getId() == Property.Id.EXTENDED
+                        && "X-ABUID".equalsIgnoreCase(property.extendedName))) {
+                    retained.add(property);
+                }
+            }
+            assertEquals(retained.toString(), cards.get(i).getProperties().toString());
+        }
+    }
+
+    /**
+     * Lazy properties should resolve to the same properties as an eager build.
+     */
+    @Test
+    public void testLazy() throws IOException, ParserException {
+        final List<VCard> expected = new VCardBuilder(new FileReader(filename)).buildAll();
+
+        final VCardBuilder lazyBuilder = new VCardBuilder(new FileReader(filename));
+        lazyBuilder.setLazy(true);
+        final List<VCard> cards = lazyBuilder.buildAll();
+
+        assertEquals(expected.size(), cards.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertNotNull(cards.get(i).toString());
+            assertEquals(expected.get(i).getProperties().toString(), cards.get(i).getProperties().toString());
+            assertEquals(expected.get(i).toString(), cards.get(i).toString());
+        }
+    }
+
+    /**
+     * Cards built from pushed chunks of any size should be identical to those built from a reader,
+     * with relaxed parsing and relaxed unfolding each enabled and disabled.
+     */
+    @Test
+    public void testIncremental() throws IOException {
+        final byte[] data = Files.readAllBytes(Paths.get(filename));
+        final boolean unfolding = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING);
+        try {
+            for (final boolean relaxedParsing : new boolean[] {true, false}) {
+                for (final boolean relaxedUnfolding : new boolean[] {false, true}) {
+                    CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING, relaxedParsing);
+                    CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING, relaxedUnfolding);
+                    String expected;
+                    try {
+                        expected = new VCardBuilder(ByteBuffer.wrap(data)).buildAll().toString();
+                    }
+                    catch (ParserException e) {
+                        expected = null;
+                    }
+                    for (final int chunkSize : new int[] {1, 3, 7, 4096}) {
+                        String actual;
+                        try {
+                            actual = buildIncrementally(data, chunkSize).toString();
+                        }
+                        catch (ParserException e) {
+                            actual = null;
+                        }
+                        assertEquals(String.format("relaxed parsing %s, relaxed unfolding %s, %d byte chunks",
+                                relaxedParsing, relaxedUnfolding, chunkSize), expected, actual);
+                    }
+                }
+            }
+        }
+        finally {
+            CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING, true);
+            CompatibilityHints.setHintEnabled(CompatibilityHints.KEY_RELAXED_UNFOLDING, unfolding);
+        }
+    }
+
+    private static List<VCard> buildIncrementally(final byte[] data, final int chunkSize) throws ParserException {
+        final IncrementalVCardBuilder incremental = new IncrementalVCardBuilder();
+        final List<VCard> cards = new ArrayList<VCard>();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            incremental.feed(ByteBuffer.wrap(data, offset, Math.min(chunkSize, data.length - offset)));
+            for (VCard card = incremental.poll(); card != null; card = incremental.poll()) {
+                cards.add(card);
+            }
+        }
+        incremental.finish();
+        for (VCard card = incremental.poll(); card != null; card = incremental.poll()) {
+            cards.add(card);
+        }
+        return cards;
+    }
+
     @Parameters
     public static Collection<Object[]> parameters() {
         final List<Object[]> params = new ArrayList<Object[]>();
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+import net.fortuna.ical4j.vcard.parameter.Altid;
+import net.fortuna.ical4j.vcard.property.Kind;
+import net.fortuna.ical4j.vcard.property.Note;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class VCardDowngraderTest {
+
+    /**
+     * A vCard 3.0 card with an unsupported property, and unsupported parameters on both a
+     * standard and a non-standard property.
+     */
+    private static final String CARD = VCardFixtures.CARD.replace("VERSION:4.0", "VERSION:3.0")
+            .replace("item1.EMAIL;", "item1.EMAIL;ALTID=1;")
+            .replace("END:VCARD", "KIND:individual\r\nX-CUSTOM;ALTID=1:value\r\nEND:VCARD");
+
+    private static final String DOWNGRADED = CARD.replace("item1.EMAIL", "item1.X-ICAL4J-TOV3-EMAIL")
+            .replace("KIND:", "X-ICAL4J-TOV3-KIND:");
+
+    @Test
+    public void testIsSupported() {
+        final VCardDowngrader downgrader = VCardDowngrader.DEFAULT;
+        assertFalse(downgrader.isSupported(Kind.INDIVIDUAL));
+        assertTrue(downgrader.isSupported(new Note("a note")));
+        final Note note = new Note("a note");
+        note.getParameters().add(new Altid("1"));
+        assertFalse(downgrader.isSupported(note));
+    }
+
+    @Test
+    public void testDefault() throws IOException, ParserException {
+        assertEquals(DOWNGRADED, VCardFixtures.build(CARD, false).toString());
+        assertEquals(DOWNGRADED, VCardFixtures.build(CARD, true).toString());
+    }
+
+    @Test
+    public void testOutputter() throws IOException, ParserException, ValidationException {
+        final VCardOutputter outputter = new VCardOutputter(false);
+        outputter.setDowngrader(new VCardDowngrader(EnumSet.of(Property.Id.NOTE),
+                EnumSet.noneOf(Parameter.Id.class)));
+        final String expected = CARD.replace("NOTE:", "X-ICAL4J-TOV3-NOTE:");
+
+        for (boolean lazy : new boolean[] {false, true}) {
+            final VCard card = VCardFixtures.build(CARD, lazy);
+            card.setCacheEnabled(true);
+            final StringWriter out = new StringWriter();
+            outputter.output(card, out);
+            assertEquals(expected, out.toString());
+            // the cached form retains the default rules..
+            assertEquals(DOWNGRADED, card.toString());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.vcard.Property.Id;
+
+import org.junit.Test;
+
+/**
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class VCardErrorHandlerTest {
+
+    private static final String CARDS = "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:First\r\n"
+            + "END:VCARD\r\n"
+            + "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Bad URL\r\n"
+            + "URL:http://example.com/a b\r\n"
+            + "NOTE:skipped\r\n"
+            + "END:VCARD\r\n"
+            + "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Unterminated\r\n"
+            + "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Second\r\n"
+            + "END:VCARD\r\n"
+            + "garbage\r\n"
+            + "more garbage\r\n"
+            + "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Third\r\n"
+            + "END:VCARD\r\n";
+
+    @Test
+    public void testRecovery() throws IOException, ParserException {
+        final List<Integer> lines = new ArrayList<Integer>();
+        final List<Integer> indexes = new ArrayList<Integer>();
+        final List<VCard> cards = new VCardBuilder(new StringReader(CARDS)).buildAll(new VCardErrorHandler() {
+            @Override
+            public void error(ParserException exception, int cardIndex) {
+                lines.add(exception.getLineNo());
+                indexes.add(cardIndex);
+            }
+        });
+
+        assertEquals(3, cards.size());
+        assertEquals("First", cards.get(0).getProperty(Id.FN).getValue());
+        assertEquals("Second", cards.get(1).getProperty(Id.FN).getValue());
+        assertEquals("Third", cards.get(2).getProperty(Id.FN).getValue());
+
+        assertEquals(3, lines.size());
+        assertEquals(Integer.valueOf(8), lines.get(0));
+        assertEquals(Integer.valueOf(1), indexes.get(0));
+        assertEquals(Integer.valueOf(14), lines.get(1));
+        assertEquals(Integer.valueOf(2), indexes.get(1));
+        assertEquals(Integer.valueOf(18), lines.get(2));
+        assertEquals(Integer.valueOf(4), indexes.get(2));
+    }
+
+    @Test(expected = ParserException.class)
+    public void testAbort() throws IOException, ParserException {
+        new VCardBuilder(new StringReader(CARDS)).buildAll(new VCardErrorHandler() {
+            @Override
+            public void error(ParserException exception, int cardIndex) throws ParserException {
+                throw exception;
+            }
+        });
+    }
+}
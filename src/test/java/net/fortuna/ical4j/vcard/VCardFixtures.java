@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import net.fortuna.ical4j.data.ParserException;
+
+/**
+ * A sample vCard shared by tests that compare lazily and eagerly parsed cards, which may
+ * extend it for their own cases.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+final class VCardFixtures {
+
+    static final String CARD = "BEGIN:VCARD\r\n"
+            + "VERSION:4.0\r\n"
+            + "FN:Frank Dawson\r\n"
+            + "item1.EMAIL;PREF=1;type=work:fdawson@example.com\r\n"
+            + "NOTE:some\\, note\r\n"
+            + "END:VCARD\r\n";
+
+    /**
+     * Constructor made private to enforce static nature.
+     */
+    private VCardFixtures() {
+    }
+
+    /**
+     * @param card vCard data
+     * @param lazy specifies whether properties are constructed only on first access
+     * @return the first vCard in the data
+     * @throws IOException where the data cannot be read
+     * @throws ParserException where the data is not a valid vCard
+     */
+    static VCard build(final String card, final boolean lazy) throws IOException, ParserException {
+        final VCardBuilder builder = new VCardBuilder(new StringReader(card));
+        builder.setLazy(lazy);
+        return builder.build();
+    }
+}
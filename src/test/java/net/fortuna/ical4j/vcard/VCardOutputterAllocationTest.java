@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.vcard;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.validate.ValidationException;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Verifies that reusing encoding buffers avoids allocating a buffer for each output, as
+ * measured by the allocation counter of the current thread.
+ *
+ * $Id$
+ *
+ * Created on: 18/10/2026
+ */
+public class VCardOutputterAllocationTest {
+
+    /**
+     * The size of the encoding buffer allocated for each output unless reused.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void testReuseBuffers() throws IOException, ParserException, ValidationException {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final List<VCard> cards = Collections.singletonList(VCardFixtures.build(VCardFixtures.CARD, false));
+        final long allocated = bytesPerCard(threads, cards, false);
+        final long reused = bytesPerCard(threads, cards, true);
+        final String message = "Allocated " + allocated + " bytes per card, reused " + reused;
+        assertTrue(message, allocated - reused >= BUFFER_SIZE);
+        assertTrue(message, reused * 4 < allocated);
+    }
+
+    private long bytesPerCard(final com.sun.management.ThreadMXBean threads, final List<VCard> cards,
+            final boolean reuseBuffers) throws IOException, ValidationException {
+        final VCardOutputter outputter = new VCardOutputter(false);
+        outputter.setReuseBuffers(reuseBuffers);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        for (int i = 0; i < ITERATIONS; i++) {
+            out.reset();
+            outputter.output(cards, out);
+        }
+        final long thread = Thread.currentThread().getId();
+        final long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            out.reset();
+            outputter.output(cards, out);
+        }
+        return (threads.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+    }
+}
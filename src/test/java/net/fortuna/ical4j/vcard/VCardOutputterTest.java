@@ -40,11 +40,15 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.*;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
 
 /**
  * Created on: 29/12/2008
@@ -79,6 +83,110 @@ public class VCardOutputterTest {
         assertEquals(expectedOutput, out.toString().replaceAll("\\r\\n ", ""));
     }
 
+    @Test
+    public void testBatchOutput() throws IOException, ValidationException {
+        final StringWriter single = new StringWriter();
+        outputter.output(card, single);
+
+        final boolean[] closed = new boolean[1];
+        final int[] flushes = new int[1];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        final VCardOutputter batchOutputter = new VCardOutputter(false, 1000);
+        batchOutputter.setFlushInterval(2);
+        batchOutputter.output(Arrays.asList(card, card, card, card, card), out);
+
+        // output streams are folded by octet rather than character..
+        final String expected = single.toString().replaceAll("\\r\\n ", "");
+        assertEquals(expected + expected + expected + expected + expected,
+                out.toString("UTF-8").replaceAll("\\r\\n ", ""));
+        assertEquals(false, closed[0]);
+        assertEquals(3, flushes[0]);
+
+        out.reset();
+        batchOutputter.output(Stream.of(card, card), out);
+        assertEquals(expected + expected, out.toString("UTF-8").replaceAll("\\r\\n ", ""));
+    }
+
+    @Test
+    public void testReuseBuffers() throws IOException, ValidationException {
+        final VCardOutputter reusing = new VCardOutputter(false);
+        reusing.setReuseBuffers(true);
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new VCardOutputter(false).output(Arrays.asList(card, card), expected);
+
+        for (int i = 0; i < 2; i++) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            reusing.output(Arrays.asList(card, card), out);
+            assertEquals(expected.toString("UTF-8"), out.toString("UTF-8"));
+
+            out.reset();
+            reusing.output(Arrays.asList(card, card), Channels.newChannel(out));
+            assertEquals(expected.toString("UTF-8"), out.toString("UTF-8"));
+        }
+    }
+
+    @Test
+    public void testValidateBeforeOutput() throws IOException {
+        final boolean[] closed = new boolean[1];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        final VCardOutputter validating = new VCardOutputter(true);
+        for (final VCardCodec codec : Arrays.asList(null, GzipCodec.INSTANCE)) {
+            validating.setCodec(codec);
+            try {
+                // a card without FN is invalid..
+                validating.output(new VCard(), out);
+                fail("Expected ValidationException");
+            }
+            catch (ValidationException e) {
+            }
+            assertEquals(0, out.size());
+            assertEquals(false, closed[0]);
+        }
+    }
+
+    @Test
+    public void testCodecOutput() throws IOException, ValidationException {
+        final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        final VCardOutputter batchOutputter = new VCardOutputter(false);
+        batchOutputter.output(Arrays.asList(card, card), plain);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        batchOutputter.setCodec(GzipCodec.INSTANCE);
+        batchOutputter.output(Arrays.asList(card, card), compressed);
+        // the stream is left open, so further archives may be appended..
+        batchOutputter.output(card, compressed);
+
+        final ByteArrayOutputStream single = new ByteArrayOutputStream();
+        new VCardOutputter(false).output(card, single);
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(plain.toByteArray());
+        expected.write(single.toByteArray());
+
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (InputStream in = GzipCodec.INSTANCE.decode(new ByteArrayInputStream(compressed.toByteArray()))) {
+            final byte[] buffer = new byte[1024];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                decoded.write(buffer, 0, read);
+            }
+        }
+        assertEquals(expected.toString("UTF-8"), decoded.toString("UTF-8"));
+    }
+
     @Parameters
     public static Collection<Object[]> parameters() throws IOException, ParserException {
         VCardOutputter outputter = new VCardOutputter(false, 1000);
@@ -33,6 +33,7 @@ package net.fortuna.ical4j.vcard.property;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 
@@ -61,6 +62,10 @@ public class LogoTest extends PropertyTest {
         Type type = new Type("image/jpeg");
         params.add(new Object[] { new Logo(new byte[0], type), Id.LOGO.toString(), "",
                 new Parameter[] { Encoding.B, type } });
+
+        final byte[] binary = "logo".getBytes();
+        params.add(new Object[] { new Logo(binary), Id.LOGO.toString(),
+                Base64.getEncoder().encodeToString(binary), new Parameter[] { Encoding.B } });
         return params;
     }
 
@@ -33,6 +33,7 @@ package net.fortuna.ical4j.vcard.property;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 
@@ -61,6 +62,16 @@ public class PhotoTest extends PropertyTest {
         Type type = new Type("image/jpeg");
         params.add(new Object[] { new Photo(new byte[0], type), Id.PHOTO.toString(), "",
                 new Parameter[] { Encoding.B, type } });
+
+        // padded and multi-chunk binary values..
+        for (int length : new int[] { 1, 2, 3, 5000 }) {
+            final byte[] binary = new byte[length];
+            for (int i = 0; i < length; i++) {
+                binary[i] = (byte) (i * 31);
+            }
+            params.add(new Object[] { new Photo(binary), Id.PHOTO.toString(),
+                    Base64.getEncoder().encodeToString(binary), new Parameter[] { Encoding.B } });
+        }
         return params;
     }
 
@@ -33,6 +33,7 @@ package net.fortuna.ical4j.vcard.property;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 
@@ -61,6 +62,10 @@ public class SoundTest extends PropertyTest {
         Type type = new Type("application/wav");
         params.add(new Object[] { new Sound(new byte[0], type), Id.SOUND.toString(), "",
                 new Parameter[] { Encoding.B, type } });
+
+        final byte[] binary = "sound".getBytes();
+        params.add(new Object[] { new Sound(binary, type), Id.SOUND.toString(),
+                Base64.getEncoder().encodeToString(binary), new Parameter[] { Encoding.B, type } });
         return params;
     }
 